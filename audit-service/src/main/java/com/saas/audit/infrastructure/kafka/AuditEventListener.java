@@ -3,6 +3,7 @@ package com.saas.audit.infrastructure.kafka;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.saas.audit.application.service.AuditService;
 import com.saas.common.events.EventEnvelope;
+import com.saas.common.events.EventLagMetrics;
 import com.saas.common.events.EventTypes;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,7 @@ public class AuditEventListener {
     private final AuditService auditService;
     private final ProcessedEventCache dedup;
     private final ObjectMapper mapper;
+    private final EventLagMetrics lagMetrics;
 
     @KafkaListener(
             topics = "${saas.outbox.audit-topic:audit.events}",
@@ -58,6 +60,7 @@ public class AuditEventListener {
 
         try {
             auditService.record(envelope);
+            lagMetrics.recordApplied(envelope);
             ack.acknowledge();
         } catch (Exception ex) {
             log.error("Error registrando auditoria partition={} offset={} eventId={}: {}",
@@ -0,0 +1,19 @@
+package com.saas.auth.application.dto.request;
+
+/**
+ * Una fila del import masivo de usuarios ya parseada.
+ *
+ * @param row   numero de fila de datos (1-based, sin contar el header CSV)
+ * @param user  datos de la fila; null si no se pudo parsear
+ * @param error motivo del fallo de parseo (null si parseo bien)
+ */
+public record UserImportRow(int row, CreateUserRequest user, String error) {
+
+    public static UserImportRow parsed(int row, CreateUserRequest user) {
+        return new UserImportRow(row, user, null);
+    }
+
+    public static UserImportRow unparseable(int row, String error) {
+        return new UserImportRow(row, null, error);
+    }
+}
@@ -0,0 +1,25 @@
+package com.saas.auth.application.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/** Resultado por fila del import masivo (una linea NDJSON de la respuesta). */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserImportResult(
+        int row,
+        Status status,
+        UUID id,
+        String username,
+        String message
+) {
+    public enum Status { CREATED, DUPLICATE, INVALID, FAILED }
+
+    public static UserImportResult created(int row, UUID id, String username) {
+        return new UserImportResult(row, Status.CREATED, id, username, null);
+    }
+
+    public static UserImportResult rejected(int row, Status status, String username, String message) {
+        return new UserImportResult(row, status, null, username, message);
+    }
+}
@@ -10,6 +10,8 @@ import com.saas.auth.domain.model.RefreshToken;
 import com.saas.auth.domain.model.User;
 import com.saas.auth.domain.port.in.IAuthUseCase;
 import com.saas.auth.domain.port.in.IUserUseCase;
+import com.saas.auth.domain.port.out.ILastLoginRecorderPort;
+import com.saas.auth.domain.port.out.IPasswordHasherPort;
 import com.saas.auth.domain.port.out.IRefreshTokenRepositoryPort;
 import com.saas.auth.domain.port.out.IUserRepositoryPort;
 import com.saas.auth.infrastructure.client.SearchServiceClient;
@@ -21,7 +23,7 @@ import com.saas.common.exception.InvalidCredentialsException;
 import com.saas.common.exception.TokenRefreshException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,13 +45,18 @@ public class AuthService implements IAuthUseCase {
     private final IUserRepositoryPort userRepo;
     private final IUserUseCase userUseCase;
     private final IRefreshTokenRepositoryPort refreshTokenRepo;
-    private final PasswordEncoder passwordEncoder;
+    private final IPasswordHasherPort passwordHasher;
     private final JwtTokenProvider jwt;
     private final JwtBlacklistService blacklist;
     private final UserMapper userMapper;
     private final BusinessResolver businessResolver;
     private final ThirdPartyServiceClient thirdPartyClient;
     private final SearchServiceClient searchClient;
+    private final ILastLoginRecorderPort lastLogins;
+
+    /** Tope de refresh tokens vigentes por usuario (sesiones/dispositivos). 0 = sin tope. */
+    @Value("${saas.auth.refresh-token.max-active-per-user:10}")
+    private int maxActiveRefreshTokens;
 
     /**
      * Id fijo y conocido del rol {@code OWNER} (sembrado en la migración V1).
@@ -78,10 +85,18 @@ public class AuthService implements IAuthUseCase {
             throw new InvalidCredentialsException("Cuenta deshabilitada");
         }
 
-        if (!passwordEncoder.matches(request.password(), user.getPasswordHash())) {
+        if (!passwordHasher.matches(request.password(), user.getPasswordHash())) {
             throw new InvalidCredentialsException("Credenciales invalidas");
         }
 
+        // Work factor subido desde que se genero el hash: unico momento en que
+        // tenemos el password en claro para re-hashearlo.
+        if (passwordHasher.needsUpgrade(user.getPasswordHash())) {
+            user.setPasswordHash(passwordHasher.hash(request.password()));
+            userRepo.update(user);
+            log.info("Hash de password actualizado al work factor vigente: userId={}", user.getId());
+        }
+
         // Cargar roles efectivos para el JWT
         User withRoles = userUseCase.loadWithRoles(user.getId());
 
@@ -90,9 +105,10 @@ public class AuthService implements IAuthUseCase {
         UUID businessId = businessResolver.resolve(withRoles.getId());
         TokenPairResponse tokens = issueTokens(withRoles, businessId);
 
-        // Actualizar ultimo login (sin tocar otros campos)
+        // Ultimo login: write-behind por lotes (sin SELECT + UPDATE de la fila
+        // en el camino del login). La respuesta ya lo lleva.
         withRoles.setLastLoginAt(LocalDateTime.now());
-        userRepo.update(withRoles);
+        lastLogins.record(withRoles.getId(), withRoles.getLastLoginAt());
 
         UserResponse userResponse = toUserResponseWithRoles(withRoles, businessId);
         log.info("Login exitoso: userId={} username={}", withRoles.getId(), withRoles.getUsername());
@@ -209,6 +225,11 @@ public class AuthService implements IAuthUseCase {
                 .expiresAt(LocalDateTime.now().plusSeconds(refreshTtlMs / 1000))
                 .build();
         refreshTokenRepo.save(refresh);
+        // Cada login suma una fila: pasado el tope se revocan las sesiones mas
+        // viejas (la purga programada las borra despues).
+        if (maxActiveRefreshTokens > 0) {
+            refreshTokenRepo.revokeOldestBeyond(user.getId(), maxActiveRefreshTokens);
+        }
 
         return TokenPairResponse.bearer(access, refreshValue, jwt.getAccessTokenTtlMillis() / 1000);
     }
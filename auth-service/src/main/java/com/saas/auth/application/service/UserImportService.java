@@ -0,0 +1,253 @@
+package com.saas.auth.application.service;
+
+import com.saas.auth.application.dto.event.UserEventPayload;
+import com.saas.auth.application.dto.request.CreateUserRequest;
+import com.saas.auth.application.dto.request.UserImportRow;
+import com.saas.auth.application.dto.response.UserImportResult;
+import com.saas.auth.application.dto.response.UserImportResult.Status;
+import com.saas.auth.application.mapper.UserMapper;
+import com.saas.auth.domain.model.User;
+import com.saas.auth.domain.port.in.IUserImportUseCase;
+import com.saas.auth.domain.port.out.IPasswordHasherPort;
+import com.saas.auth.domain.port.out.IRoleResolverPort;
+import com.saas.auth.domain.port.out.IUserRepositoryPort;
+import com.saas.auth.domain.port.out.IUserRoleRepositoryPort;
+import com.saas.common.events.EventTypes;
+import com.saas.common.exception.TooManyRequestsException;
+import com.saas.common.outbox.OutboxPublisher;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Alta masiva de usuarios (onboarding de un negocio con cientos de empleados).
+ *
+ * Por cada lote de {@code chunk-size} filas, en vez de N veces el flujo de
+ * {@code POST /users}:
+ *   1. Validacion de cada fila (mismas reglas que {@link CreateUserRequest}).
+ *   2. Duplicados: dos queries IN (username, email) por lote + los ya vistos
+ *      en el mismo archivo.
+ *   3. Roles: una sola resolucion id -> code por lote.
+ *   4. BCrypt en paralelo en el pool de hashing (fuera de la transaccion).
+ *   5. Una transaccion por lote: inserts de usuarios y user_role agrupados en
+ *      batch JDBC (hibernate.jdbc.batch_size) y los USER_CREATED del outbox
+ *      volcados en batch antes del commit.
+ *
+ * El evento lleva los roleCodes, asi que no hace falta el USER_ROLES_CHANGED
+ * que emite el alta individual al asignar roles (el consumer hace upsert).
+ */
+@Slf4j
+@Service
+public class UserImportService implements IUserImportUseCase {
+
+    private final IUserRepositoryPort userRepo;
+    private final IUserRoleRepositoryPort userRoleRepo;
+    private final IRoleResolverPort roleResolver;
+    private final IPasswordHasherPort passwordHasher;
+    private final OutboxPublisher outboxPublisher;
+    private final UserMapper userMapper;
+    private final Validator validator;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+
+    public UserImportService(IUserRepositoryPort userRepo,
+                             IUserRoleRepositoryPort userRoleRepo,
+                             IRoleResolverPort roleResolver,
+                             IPasswordHasherPort passwordHasher,
+                             OutboxPublisher outboxPublisher,
+                             UserMapper userMapper,
+                             Validator validator,
+                             TransactionTemplate tx,
+                             @Value("${saas.auth.user-import.chunk-size:500}") int chunkSize) {
+        this.userRepo = userRepo;
+        this.userRoleRepo = userRoleRepo;
+        this.roleResolver = roleResolver;
+        this.passwordHasher = passwordHasher;
+        this.outboxPublisher = outboxPublisher;
+        this.userMapper = userMapper;
+        this.validator = validator;
+        this.tx = tx;
+        this.chunkSize = chunkSize;
+    }
+
+    /** Fila que paso validacion y duplicados, pendiente de insertar. */
+    private record Candidate(int index, int row, CreateUserRequest request, Set<UUID> roleIds) {}
+
+    @Override
+    public void importUsers(Iterator<UserImportRow> rows, Consumer<UserImportResult> sink) {
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<UserImportRow> chunk = new ArrayList<>(chunkSize);
+        int[] created = {0};
+        int total = 0;
+
+        Consumer<UserImportResult> counting = r -> {
+            if (r.status() == Status.CREATED) created[0]++;
+            sink.accept(r);
+        };
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            total++;
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, seenUsernames, seenEmails, counting);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) processChunk(chunk, seenUsernames, seenEmails, counting);
+        log.info("Import masivo de usuarios: filas={} creados={}", total, created[0]);
+    }
+
+    private void processChunk(List<UserImportRow> chunk,
+                              Set<String> seenUsernames,
+                              Set<String> seenEmails,
+                              Consumer<UserImportResult> sink) {
+        // Resultados por posicion en el lote: se emiten en el orden del archivo.
+        Map<Integer, UserImportResult> results = new TreeMap<>();
+
+        List<Candidate> valid = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            UserImportRow r = chunk.get(i);
+            if (r.error() != null) {
+                results.put(i, UserImportResult.rejected(r.row(), Status.INVALID, null, r.error()));
+                continue;
+            }
+            String violations = violations(r.user());
+            if (violations != null) {
+                results.put(i, UserImportResult.rejected(r.row(), Status.INVALID, r.user().username(), violations));
+                continue;
+            }
+            Set<UUID> roleIds = r.user().roleIds() == null ? Set.of() : r.user().roleIds();
+            valid.add(new Candidate(i, r.row(), r.user(), roleIds));
+        }
+
+        List<Candidate> unique = rejectDuplicates(valid, seenUsernames, seenEmails, results);
+        Map<UUID, String> roleCodes = resolveRoles(unique);
+        List<Candidate> accepted = new ArrayList<>();
+        for (Candidate c : unique) {
+            String problem = roleProblem(c, roleCodes);
+            if (problem == null) {
+                accepted.add(c);
+            } else {
+                results.put(c.index(), UserImportResult.rejected(c.row(), Status.INVALID, c.request().username(), problem));
+            }
+        }
+
+        if (!accepted.isEmpty()) insert(accepted, roleCodes, results);
+        results.values().forEach(sink);
+    }
+
+    private List<Candidate> rejectDuplicates(List<Candidate> valid,
+                                             Set<String> seenUsernames,
+                                             Set<String> seenEmails,
+                                             Map<Integer, UserImportResult> results) {
+        Set<String> existingUsernames = userRepo.findExistingUsernames(
+                valid.stream().map(c -> c.request().username().trim()).collect(Collectors.toSet()));
+        Set<String> existingEmails = userRepo.findExistingEmails(
+                valid.stream().map(c -> c.request().email().trim()).collect(Collectors.toSet()));
+
+        List<Candidate> unique = new ArrayList<>(valid.size());
+        for (Candidate c : valid) {
+            String username = key(c.request().username());
+            String email = key(c.request().email());
+            String problem = existingUsernames.contains(username) || seenUsernames.contains(username)
+                    ? "El username ya existe: " + c.request().username().trim()
+                    : existingEmails.contains(email) || seenEmails.contains(email)
+                    ? "El email ya existe: " + c.request().email().trim()
+                    : null;
+            if (problem != null) {
+                results.put(c.index(), UserImportResult.rejected(c.row(), Status.DUPLICATE, c.request().username(), problem));
+                continue;
+            }
+            seenUsernames.add(username);
+            seenEmails.add(email);
+            unique.add(c);
+        }
+        return unique;
+    }
+
+    private Map<UUID, String> resolveRoles(List<Candidate> candidates) {
+        Set<UUID> roleIds = candidates.stream()
+                .flatMap(c -> c.roleIds().stream())
+                .collect(Collectors.toSet());
+        return roleIds.isEmpty() ? Map.of() : roleResolver.resolveCodeMap(roleIds);
+    }
+
+    private static String roleProblem(Candidate c, Map<UUID, String> roleCodes) {
+        if (c.roleIds().isEmpty()) return null;
+        if (roleCodes.isEmpty()) return "No se pudieron resolver los roles (system-service no disponible)";
+        List<UUID> unknown = c.roleIds().stream().filter(id -> roleCodes.get(id) == null).toList();
+        return unknown.isEmpty() ? null : "Roles inexistentes: " + unknown;
+    }
+
+    private void insert(List<Candidate> accepted, Map<UUID, String> roleCodes, Map<Integer, UserImportResult> results) {
+        List<String> hashes;
+        try {
+            hashes = passwordHasher.hashAll(accepted.stream().map(c -> c.request().password()).toList());
+        } catch (TooManyRequestsException ex) {
+            accepted.forEach(c -> results.put(c.index(),
+                    UserImportResult.rejected(c.row(), Status.FAILED, c.request().username(), ex.getMessage())));
+            return;
+        }
+
+        try {
+            tx.executeWithoutResult(status -> {
+                Map<UUID, Set<UUID>> roleIdsByUser = new HashMap<>();
+                for (int k = 0; k < accepted.size(); k++) {
+                    Candidate c = accepted.get(k);
+                    User user = userMapper.toDomain(c.request());
+                    user.setUsername(c.request().username().trim());
+                    user.setEmail(c.request().email().trim());
+                    user.setPasswordHash(hashes.get(k));
+                    UserService.applyNewUserDefaults(user);
+
+                    User saved = userRepo.save(user);
+                    if (!c.roleIds().isEmpty()) roleIdsByUser.put(saved.getId(), c.roleIds());
+                    saved.setRoleCodes(c.roleIds().stream()
+                            .map(roleCodes::get)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toSet()));
+
+                    outboxPublisher.publish(EventTypes.USER_CREATED, null, "user", saved.getId(),
+                            UserEventPayload.from(saved));
+                    results.put(c.index(), UserImportResult.created(c.row(), saved.getId(), saved.getUsername()));
+                }
+                userRoleRepo.insertAll(roleIdsByUser);
+            });
+        } catch (RuntimeException ex) {
+            // El lote entero hizo rollback (p.ej. carrera con un alta concurrente).
+            log.warn("Import masivo: lote de {} filas no insertado: {}", accepted.size(), ex.getMessage());
+            accepted.forEach(c -> results.put(c.index(), UserImportResult.rejected(
+                    c.row(), Status.FAILED, c.request().username(), "Lote no insertado: " + ex.getMessage())));
+        }
+    }
+
+    private String violations(CreateUserRequest request) {
+        Set<ConstraintViolation<CreateUserRequest>> found = validator.validate(request);
+        if (found.isEmpty()) return null;
+        return found.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -5,6 +5,7 @@ import com.saas.auth.application.mapper.UserMapper;
 import com.saas.auth.domain.model.User;
 import com.saas.auth.domain.model.UserRole;
 import com.saas.auth.domain.port.in.IUserUseCase;
+import com.saas.auth.domain.port.out.IPasswordHasherPort;
 import com.saas.auth.domain.port.out.IRoleResolverPort;
 import com.saas.auth.domain.port.out.IUserRepositoryPort;
 import com.saas.auth.domain.port.out.IUserRoleRepositoryPort;
@@ -17,7 +18,6 @@ import com.saas.common.outbox.OutboxPublisher;
 import com.saas.common.service.GenericCrudService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,20 +31,20 @@ public class UserService extends GenericCrudService<User, UUID> implements IUser
     private final IUserRepositoryPort userRepo;
     private final IUserRoleRepositoryPort userRoleRepo;
     private final IRoleResolverPort roleResolver;
-    private final PasswordEncoder passwordEncoder;
+    private final IPasswordHasherPort passwordHasher;
     private final OutboxPublisher outboxPublisher;
     private final UserMapper userMapper;
 
     public UserService(IUserRepositoryPort userRepo,
                        IUserRoleRepositoryPort userRoleRepo,
                        IRoleResolverPort roleResolver,
-                       PasswordEncoder passwordEncoder,
+                       IPasswordHasherPort passwordHasher,
                        OutboxPublisher outboxPublisher, UserMapper userMapper) {
         super(userRepo);
         this.userRepo = userRepo;
         this.userRoleRepo = userRoleRepo;
         this.roleResolver = roleResolver;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.outboxPublisher = outboxPublisher;
         this.userMapper = userMapper;
     }
@@ -105,10 +105,8 @@ public class UserService extends GenericCrudService<User, UUID> implements IUser
     @Override
     @Transactional
     public User createWithPassword(User user, String rawPassword) {
-        user.setPasswordHash(passwordEncoder.encode(rawPassword));
-        if (user.getTheme() == null)         user.setTheme("light");
-        if (user.getLanguageCode() == null)  user.setLanguageCode("es-CO");
-        if (user.getIsFirstLogin() == null)  user.setIsFirstLogin(true);
+        user.setPasswordHash(passwordHasher.hash(rawPassword));
+        applyNewUserDefaults(user);
         User userCreated = create(user);
 
         // Emitir evento USER_CREATED
@@ -123,17 +121,24 @@ public class UserService extends GenericCrudService<User, UUID> implements IUser
         return userCreated;
     }
 
+    /** Defaults de una cuenta nueva; compartido con el import masivo. */
+    static void applyNewUserDefaults(User user) {
+        if (user.getTheme() == null)         user.setTheme("light");
+        if (user.getLanguageCode() == null)  user.setLanguageCode("es-CO");
+        if (user.getIsFirstLogin() == null)  user.setIsFirstLogin(true);
+    }
+
     @Override
     @Transactional
     public void changePassword(UUID userId, String currentPassword, String newPassword) {
         User user = getById(userId);
-        if (!passwordEncoder.matches(currentPassword, user.getPasswordHash())) {
+        if (!passwordHasher.matches(currentPassword, user.getPasswordHash())) {
             throw new InvalidCredentialsException("Password actual incorrecto");
         }
-        if (passwordEncoder.matches(newPassword, user.getPasswordHash())) {
+        if (passwordHasher.matches(newPassword, user.getPasswordHash())) {
             throw new BusinessException("El nuevo password debe ser distinto al actual");
         }
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        user.setPasswordHash(passwordHasher.hash(newPassword));
         userRepo.update(user);
         log.info("Password cambiado: userId={}", userId);
     }
@@ -0,0 +1,17 @@
+package com.saas.auth.domain.port.in;
+
+import com.saas.auth.application.dto.request.UserImportRow;
+import com.saas.auth.application.dto.response.UserImportResult;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+public interface IUserImportUseCase {
+
+    /**
+     * Alta masiva en streaming: consume las filas por lotes y entrega un
+     * resultado por fila a {@code sink} a medida que cada lote se confirma.
+     * Una fila rechazada no afecta a las demas.
+     */
+    void importUsers(Iterator<UserImportRow> rows, Consumer<UserImportResult> sink);
+}
@@ -0,0 +1,14 @@
+package com.saas.auth.domain.port.out;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Registro del ultimo login FUERA del camino critico del login: la
+ * implementacion acumula en memoria y persiste por lotes (write-behind).
+ * El valor en BD puede ir unos segundos atrasado respecto al login real.
+ */
+public interface ILastLoginRecorderPort {
+
+    void record(UUID userId, LocalDateTime at);
+}
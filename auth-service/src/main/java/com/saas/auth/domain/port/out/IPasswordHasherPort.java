@@ -0,0 +1,22 @@
+package com.saas.auth.domain.port.out;
+
+import java.util.List;
+
+/**
+ * Hash de passwords (BCrypt) FUERA de los hilos del servlet: la implementacion
+ * lo corre en un pool acotado a los cores y, si esta saturado, rechaza rapido
+ * con {@link com.saas.common.exception.TooManyRequestsException} (429) en vez
+ * de encolar sin limite.
+ */
+public interface IPasswordHasherPort {
+
+    String hash(String rawPassword);
+
+    /** Hash en paralelo de un lote (import masivo); mismo orden que la entrada. */
+    List<String> hashAll(List<String> rawPasswords);
+
+    boolean matches(String rawPassword, String passwordHash);
+
+    /** true si el hash se genero con un work factor menor al configurado. */
+    boolean needsUpgrade(String passwordHash);
+}
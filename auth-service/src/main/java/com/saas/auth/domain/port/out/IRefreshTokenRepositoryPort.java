@@ -3,10 +3,16 @@ package com.saas.auth.domain.port.out;
 import com.saas.auth.domain.model.RefreshToken;
 import com.saas.common.port.out.IGenericRepositoryPort;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Puerto de salida para refresh tokens. Los metodos reciben el valor opaco EN
+ * CLARO (el que tiene el cliente); la implementacion solo persiste y busca su
+ * digest, nunca el valor.
+ */
 public interface IRefreshTokenRepositoryPort extends IGenericRepositoryPort<RefreshToken, UUID> {
 
     Optional<RefreshToken> findByToken(String token);
@@ -19,6 +25,15 @@ public interface IRefreshTokenRepositoryPort extends IGenericRepositoryPort<Refr
     /** Revoca todos los tokens activos del usuario (logout global). */
     void revokeAllByUserId(UUID userId);
 
-    /** Hard-delete de tokens expirados; util para job de limpieza. */
-    int deleteExpired();
+    /**
+     * Deja vigentes solo los {@code keep} tokens mas nuevos del usuario y
+     * revoca el resto. Devuelve cuantos revoco.
+     */
+    int revokeOldestBeyond(UUID userId, int keep);
+
+    /** Hard-delete de un chunk de tokens expirados antes de {@code cutoff}. */
+    int deleteExpiredChunk(LocalDateTime cutoff, int limit);
+
+    /** Hard-delete de un chunk de tokens revocados antes de {@code cutoff}. */
+    int deleteRevokedChunk(LocalDateTime cutoff, int limit);
 }
@@ -3,8 +3,10 @@ package com.saas.auth.domain.port.out;
 import com.saas.auth.domain.model.User;
 import com.saas.common.port.out.IGenericRepositoryPort;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -26,5 +28,10 @@ public interface IUserRepositoryPort extends IGenericRepositoryPort<User, UUID>
 
     boolean existsByEmail(String email);
 
+    /** Import masivo: cuales de estos usernames ya existen (en minusculas). */
+    Set<String> findExistingUsernames(Collection<String> usernames);
+
+    /** Import masivo: cuales de estos emails ya existen (en minusculas). */
+    Set<String> findExistingEmails(Collection<String> emails);
 
 }
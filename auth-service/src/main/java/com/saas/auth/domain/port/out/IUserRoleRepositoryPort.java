@@ -4,6 +4,7 @@ import com.saas.auth.domain.model.UserRole;
 import com.saas.common.port.out.IGenericRepositoryPort;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -14,6 +15,9 @@ public interface IUserRoleRepositoryPort extends IGenericRepositoryPort<UserRole
     /** Reemplaza completamente el set de roles de un usuario. */
     void replaceRolesForUser(UUID userId, Set<UUID> roleIds);
 
+    /** Alta de asignaciones para usuarios nuevos (sin leer las actuales). */
+    void insertAll(Map<UUID, Set<UUID>> roleIdsByUser);
+
     /** Elimina (hard) todas las asignaciones de un usuario. */
     void deleteByUserId(UUID userId);
 
@@ -2,6 +2,7 @@ package com.saas.auth.infrastructure.config;
 
 import com.saas.common.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -43,9 +44,14 @@ public class SecurityConfig {
                 .build();
     }
 
+    /**
+     * Work factor configurable. Subirlo no invalida los hashes existentes: se
+     * re-hashean con el nuevo costo en el siguiente login exitoso
+     * ({@code upgradeEncoding}).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+    public PasswordEncoder passwordEncoder(@Value("${saas.auth.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -3,6 +3,7 @@ package com.saas.auth.infrastructure.controller;
 import com.saas.auth.application.dto.event.UserEventPayload;
 import com.saas.auth.domain.model.User;
 import com.saas.auth.domain.port.in.IUserUseCase;
+import com.saas.common.dto.CursorPage;
 import com.saas.common.exception.BusinessException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
@@ -18,7 +19,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -75,19 +75,18 @@ public class InternalController {
 
     public record CreatedUser(UUID id, String username, String email) {}
 
+    /** Feed de reindex keyset: seguir {@code nextCursor} hasta que venga null. */
     @GetMapping("/users/all")
-    public List<UserEventPayload> listAllForReindex(
-            @RequestParam(defaultValue = "0") int page,
+    public CursorPage<UserEventPayload> listAllForReindex(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "500") int size) {
-        log.info("Reindex fetch users: page={} size={}", page, size);
-        // findAllPaged NO carga roleCodes; hidratamos por user con loadWithRoles.
+        log.info("Reindex fetch users: cursor={} size={}", cursor, size);
+        // findAllAfter NO carga roleCodes; hidratamos por user con loadWithRoles.
         // Para 1000s de users esto hace 1 llamada Feign por user al system-service,
         // pero el cache Caffeine del RoleResolverFeignAdapter mitiga (5 min TTL).
         // Si crece a millones, optimizar con bulk fetch + un solo Feign call batch.
-        return userUseCase.findAllPaged(page, size).stream()
-                .map(u -> userUseCase.loadWithRoles(u.getId()))
-                .map(UserEventPayload::from)
-                .toList();
+        return userUseCase.findAllAfter(cursor, size)
+                .map(u -> UserEventPayload.from(userUseCase.loadWithRoles(u.getId())));
     }
     @GetMapping("/users/count")
     public Map<String, Long> countUsers() {
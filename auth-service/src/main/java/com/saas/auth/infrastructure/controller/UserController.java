@@ -1,5 +1,6 @@
 package com.saas.auth.infrastructure.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.saas.auth.application.dto.request.AssignRolesRequest;
 import com.saas.auth.application.dto.request.ChangePasswordRequest;
 import com.saas.auth.application.dto.request.CreateUserRequest;
@@ -7,12 +8,15 @@ import com.saas.auth.application.dto.request.UpdateUserRequest;
 import com.saas.auth.application.dto.response.UserResponse;
 import com.saas.auth.application.mapper.UserMapper;
 import com.saas.auth.domain.model.User;
+import com.saas.auth.domain.port.in.IUserImportUseCase;
 import com.saas.auth.domain.port.in.IUserUseCase;
 import com.saas.auth.infrastructure.security.BusinessResolver;
 import com.saas.common.dto.ApiResponse;
 import com.saas.common.security.IUserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -25,8 +29,15 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @RestController
@@ -35,6 +46,8 @@ import java.util.UUID;
 public class UserController {
 
     private final IUserUseCase userUseCase;
+    private final IUserImportUseCase userImportUseCase;
+    private final ObjectMapper objectMapper;
     private final UserMapper userMapper;
     private final BusinessResolver businessResolver;
 
@@ -92,6 +105,35 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.created(toResponseWithRoles(created)));
     }
 
+    /**
+     * Alta masiva en streaming. Cuerpo CSV ({@code text/csv}, con header) o
+     * NDJSON ({@code application/x-ndjson}), una fila por usuario con los
+     * campos de {@link CreateUserRequest}. Responde NDJSON con un resultado por
+     * fila (CREATED / DUPLICATE / INVALID / FAILED) a medida que se confirma
+     * cada lote; por eso no va envuelta en {@link ApiResponse}.
+     */
+    @PostMapping(value = "/import",
+            consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> importUsers(HttpServletRequest request) {
+        boolean csv = request.getContentType().toLowerCase(Locale.ROOT).startsWith("text/csv");
+        StreamingResponseBody body = out -> {
+            BufferedReader in = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+            userImportUseCase.importUsers(
+                    csv ? UserImportReader.csv(in) : UserImportReader.ndjson(in, objectMapper),
+                    result -> {
+                        try {
+                            out.write(objectMapper.writeValueAsBytes(result));
+                            out.write('\n');
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<UserResponse>> update(@PathVariable UUID id,
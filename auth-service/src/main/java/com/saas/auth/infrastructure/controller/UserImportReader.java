@@ -0,0 +1,142 @@
+package com.saas.auth.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saas.auth.application.dto.request.CreateUserRequest;
+import com.saas.auth.application.dto.request.UserImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Lee el cuerpo del import masivo linea a linea (nunca lo carga entero):
+ *   - NDJSON: un {@link CreateUserRequest} en JSON por linea.
+ *   - CSV: header obligatorio con los nombres de campo de CreateUserRequest
+ *     (username,email,password,firstName,lastName,...); {@code roleIds}
+ *     separados por ';'. Soporta campos entre comillas dobles.
+ *
+ * Una linea que no parsea no corta el import: sale como fila INVALID.
+ */
+final class UserImportReader implements Iterator<UserImportRow> {
+
+    private final BufferedReader in;
+    private final ObjectMapper mapper;
+    private final boolean csv;
+    private String[] header;
+    private String nextLine;
+    private int row;
+
+    private UserImportReader(BufferedReader in, ObjectMapper mapper, boolean csv) {
+        this.in = in;
+        this.mapper = mapper;
+        this.csv = csv;
+    }
+
+    static UserImportReader ndjson(BufferedReader in, ObjectMapper mapper) {
+        return new UserImportReader(in, mapper, false);
+    }
+
+    static UserImportReader csv(BufferedReader in) {
+        UserImportReader reader = new UserImportReader(in, null, true);
+        String first = reader.readNonBlank();
+        if (first == null) throw new IllegalArgumentException("CSV vacio: falta el header");
+        reader.header = Arrays.stream(splitCsv(first)).map(String::trim).toArray(String[]::new);
+        return reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextLine == null) nextLine = readNonBlank();
+        return nextLine != null;
+    }
+
+    @Override
+    public UserImportRow next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        String line = nextLine;
+        nextLine = null;
+        row++;
+        try {
+            CreateUserRequest request = csv ? fromCsv(line) : mapper.readValue(line, CreateUserRequest.class);
+            // Una linea NDJSON "null" parsea a null: es una fila invalida, no un usuario.
+            if (request == null) return UserImportRow.unparseable(row, "Fila no parseable: se esperaba un objeto JSON");
+            return UserImportRow.parsed(row, request);
+        } catch (Exception ex) {
+            return UserImportRow.unparseable(row, "Fila no parseable: " + ex.getMessage());
+        }
+    }
+
+    private CreateUserRequest fromCsv(String line) {
+        String[] values = splitCsv(line);
+        Map<String, String> f = new HashMap<>();
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            String v = values[i].trim();
+            if (!v.isEmpty()) f.put(header[i].toLowerCase(Locale.ROOT), v);
+        }
+        return new CreateUserRequest(
+                f.get("username"), f.get("email"), f.get("password"),
+                f.get("firstname"), f.get("lastname"), f.get("profilephoto"),
+                f.get("theme"), f.get("languagecode"), roleIds(f.get("roleids")));
+    }
+
+    private static Set<UUID> roleIds(String value) {
+        if (value == null) return null;
+        Set<UUID> ids = new LinkedHashSet<>();
+        for (String part : value.split(";")) {
+            if (!part.isBlank()) ids.add(UUID.fromString(part.trim()));
+        }
+        return ids;
+    }
+
+    /** Split CSV con comillas dobles ("" escapa una comilla dentro de un campo). */
+    private static String[] splitCsv(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cur.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    cur.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(ch);
+            }
+        }
+        out.add(cur.toString());
+        return out.toArray(String[]::new);
+    }
+
+    private String readNonBlank() {
+        try {
+            String line;
+            do {
+                line = in.readLine();
+            } while (line != null && line.isBlank());
+            return line;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
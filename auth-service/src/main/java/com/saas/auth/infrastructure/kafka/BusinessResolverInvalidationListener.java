@@ -0,0 +1,58 @@
+package com.saas.auth.infrastructure.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saas.auth.infrastructure.security.BusinessResolver;
+import com.saas.common.events.EventTypes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Invalida la cache userId -> businessId de {@link BusinessResolver} desde
+ * {@code domain.events}:
+ *   - thirdparty.*            : payload.userId (persona creada/vinculada/borrada).
+ *   - business.owner.changed  : businessId del vinculo (+ negativas).
+ *
+ * La cache es por instancia, asi que cada instancia consume con su propio
+ * group-id (broadcast), estable entre reinicios ({@code saas.kafka.instance-id}),
+ * y sin offset previo desde {@code latest}: al arrancar la cache esta vacia.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "saas.kafka", name = "enabled", havingValue = "true")
+public class BusinessResolverInvalidationListener {
+
+    private final BusinessResolver resolver;
+    private final ObjectMapper mapper;
+
+    @KafkaListener(
+            topics = "${saas.outbox.topic:domain.events}",
+            groupId = "${spring.application.name}-business-cache-${saas.kafka.instance-id}",
+            properties = "auto.offset.reset=latest")
+    public void onMessage(String json) {
+        JsonNode envelope;
+        try {
+            envelope = mapper.readTree(json);
+        } catch (Exception ex) {
+            log.debug("Evento no deserializable, ignorado: {}", ex.getMessage());
+            return;
+        }
+        switch (envelope.path("type").asText()) {
+            case EventTypes.THIRDPARTY_CREATED, EventTypes.THIRDPARTY_UPDATED, EventTypes.THIRDPARTY_DELETED -> {
+                String userId = envelope.path("payload").path("userId").asText(null);
+                if (userId != null) resolver.invalidateUser(UUID.fromString(userId));
+            }
+            case EventTypes.BUSINESS_OWNER_CHANGED -> {
+                String businessId = envelope.path("businessId").asText(null);
+                if (businessId != null) resolver.invalidateBusiness(UUID.fromString(businessId));
+            }
+            default -> { }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.saas.auth.infrastructure.persistence.adapter;
+
+import com.saas.auth.domain.port.out.ILastLoginRecorderPort;
+import com.saas.auth.infrastructure.persistence.repository.JpaUserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind de {@code LastLoginAt}.
+ *
+ * Antes cada login hacia SELECT + UPDATE de la fila completa (via
+ * {@code userRepo.update}) solo para sellar la hora. Ahora el login deja el
+ * valor en un mapa en memoria (userId -> hora, la mas reciente gana) y cada
+ * {@code flush-ms} se vuelca con UPDATEs por lote: los timestamps se truncan
+ * al segundo y se agrupan, asi un flush emite a lo sumo un UPDATE ... IN (...)
+ * por segundo distinto, sin importar cuantos usuarios entraron.
+ *
+ * Si el flush falla, los valores vuelven al mapa y se reintentan en el
+ * siguiente. Al apagar se vuelca lo pendiente. Lo que se pierde ante un
+ * crash es solo el "ultimo login" de unos segundos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LastLoginWriteBehindAdapter implements ILastLoginRecorderPort {
+
+    private final JpaUserRepository jpa;
+    private final TransactionTemplate tx;
+    private final Map<UUID, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    @Value("${saas.auth.last-login.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public void record(UUID userId, LocalDateTime at) {
+        pending.merge(userId, at.truncatedTo(ChronoUnit.SECONDS),
+                (current, incoming) -> incoming.isAfter(current) ? incoming : current);
+    }
+
+    @Scheduled(fixedDelayString = "${saas.auth.last-login.flush-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        // Drenado atomico por clave: un login concurrente re-inserta y sale en el proximo flush.
+        Map<LocalDateTime, List<UUID>> bySecond = new TreeMap<>();
+        for (UUID userId : pending.keySet()) {
+            LocalDateTime at = pending.remove(userId);
+            if (at != null) bySecond.computeIfAbsent(at, k -> new ArrayList<>()).add(userId);
+        }
+
+        try {
+            int updated = tx.execute(status -> {
+                int rows = 0;
+                for (Map.Entry<LocalDateTime, List<UUID>> group : bySecond.entrySet()) {
+                    List<UUID> ids = group.getValue();
+                    for (int from = 0; from < ids.size(); from += chunkSize) {
+                        rows += jpa.touchLastLogin(ids.subList(from, Math.min(ids.size(), from + chunkSize)), group.getKey());
+                    }
+                }
+                return rows;
+            });
+            log.debug("LastLoginAt volcado: {} usuarios en {} grupos", updated, bySecond.size());
+        } catch (RuntimeException ex) {
+            log.warn("No se pudo volcar LastLoginAt ({} grupos), se reintenta: {}", bySecond.size(), ex.getMessage());
+            bySecond.forEach((at, ids) -> ids.forEach(id -> record(id, at)));
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
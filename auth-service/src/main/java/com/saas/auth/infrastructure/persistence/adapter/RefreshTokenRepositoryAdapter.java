@@ -9,11 +9,21 @@ import com.saas.common.persistence.BaseJpaRepositoryAdapter;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Guarda y busca refresh tokens por su SHA-256 (hex, 64 chars, columna
+ * {@code Token} con UNIQUE): el valor en claro nunca llega a la BD. El valor es
+ * aleatorio de 256 bits, asi que un hash rapido sin sal basta (no es un
+ * password: no hay diccionario que probar).
+ */
 @Repository
 public class RefreshTokenRepositoryAdapter
         extends BaseJpaRepositoryAdapter<RefreshToken, RefreshTokenEntity, UUID>
@@ -27,9 +37,16 @@ public class RefreshTokenRepositoryAdapter
         this.jpa = jpa;
     }
 
+    @Override
+    public RefreshToken save(RefreshToken token) {
+        RefreshTokenEntity entity = getMapper().toEntity(token);
+        entity.setToken(digest(token.getToken()));
+        return getMapper().toDomain(jpa.save(entity));
+    }
+
     @Override
     public Optional<RefreshToken> findByToken(String token) {
-        return jpa.findByToken(token).map(getMapper()::toDomain);
+        return jpa.findByToken(digest(token)).map(getMapper()::toDomain);
     }
 
     @Override
@@ -40,7 +57,7 @@ public class RefreshTokenRepositoryAdapter
     @Override
     @Transactional
     public void revokeByToken(String token) {
-        jpa.revokeByToken(token, LocalDateTime.now());
+        jpa.revokeByToken(digest(token), LocalDateTime.now());
     }
 
     @Override
@@ -51,7 +68,29 @@ public class RefreshTokenRepositoryAdapter
 
     @Override
     @Transactional
-    public int deleteExpired() {
-        return jpa.deleteExpired(LocalDateTime.now());
+    public int revokeOldestBeyond(UUID userId, int keep) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> active = jpa.findActiveIdsNewestFirst(userId, now);
+        if (active.size() <= keep) return 0;
+        return jpa.revokeByIds(active.subList(keep, active.size()), now);
+    }
+
+    @Override
+    public int deleteExpiredChunk(LocalDateTime cutoff, int limit) {
+        return jpa.deleteExpiredChunk(cutoff, limit);
+    }
+
+    @Override
+    public int deleteRevokedChunk(LocalDateTime cutoff, int limit) {
+        return jpa.deleteRevokedChunk(cutoff, limit);
+    }
+
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
     }
 }
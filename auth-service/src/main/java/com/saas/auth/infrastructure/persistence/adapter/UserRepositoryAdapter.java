@@ -8,8 +8,12 @@ import com.saas.auth.infrastructure.persistence.repository.JpaUserRepository;
 import com.saas.common.persistence.BaseJpaRepositoryAdapter;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Repository
 public class UserRepositoryAdapter
@@ -33,9 +37,19 @@ public class UserRepositoryAdapter
         return jpa.findByEmail(email).map(getMapper()::toDomain);
     }
 
+    /**
+     * Dos probes por indice UNIQUE en vez de un OR: sin '@' el valor no puede
+     * ser un correo y basta el de username; con '@' se prueba primero email y,
+     * si no, username (por si algun username lo contiene).
+     */
     @Override
     public Optional<User> findByUsernameOrEmail(String value) {
-        return jpa.findByUsernameOrEmail(value).map(getMapper()::toDomain);
+        if (value == null || value.isBlank()) return Optional.empty();
+        String key = value.trim();
+        Optional<UserEntity> found = key.indexOf('@') >= 0
+                ? jpa.findByEmail(key).or(() -> jpa.findByUsername(key))
+                : jpa.findByUsername(key);
+        return found.map(getMapper()::toDomain);
     }
 
     @Override
@@ -47,4 +61,19 @@ public class UserRepositoryAdapter
     public boolean existsByEmail(String email) {
         return jpa.existsByEmail(email);
     }
+
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        return usernames.isEmpty() ? Set.of() : lower(jpa.findExistingUsernames(usernames));
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return emails.isEmpty() ? Set.of() : lower(jpa.findExistingEmails(emails));
+    }
+
+    /** La collation compara sin mayusculas: el llamador compara en minusculas. */
+    private static Set<String> lower(Collection<String> values) {
+        return values.stream().map(v -> v.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    }
 }
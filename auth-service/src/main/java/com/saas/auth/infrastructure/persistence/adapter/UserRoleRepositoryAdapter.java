@@ -12,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -60,6 +61,22 @@ public class UserRoleRepositoryAdapter
                 .forEach(jpa::save);
     }
 
+    @Override
+    @Transactional
+    public void insertAll(Map<UUID, Set<UUID>> roleIdsByUser) {
+        List<UserRoleEntity> rows = roleIdsByUser.entrySet().stream()
+                .flatMap(e -> {
+                    UserEntity userRef = new UserEntity();
+                    userRef.setId(e.getKey());
+                    return e.getValue().stream().map(rid -> UserRoleEntity.builder()
+                            .user(userRef)
+                            .roleId(rid)
+                            .build());
+                })
+                .toList();
+        jpa.saveAll(rows);
+    }
+
     @Override
     @Transactional
     public void deleteByUserId(UUID userId) {
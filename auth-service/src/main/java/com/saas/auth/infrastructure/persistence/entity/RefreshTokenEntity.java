@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
  * Refresh token persistente.
  *
  * Hereda Id (UUID), Enabled, Visible, AuditUser, AuditDate, CreatedDate.
- * Adicional: UserId (FK), Token (string opaco), ExpiresAt, RevokedAt (nullable).
+ * Adicional: UserId (FK), Token (SHA-256 hex del valor opaco; el valor en claro
+ * solo lo tiene el cliente), ExpiresAt, RevokedAt (nullable).
  *
  * Para logout / blacklist usamos Redis con TTL = remaining lifetime, mas barato
  * que actualizar este registro en cada cierre de sesion.
@@ -37,7 +38,7 @@ public class RefreshTokenEntity extends BaseEntity {
     @JoinColumn(name = "UserId", nullable = false, foreignKey = @jakarta.persistence.ForeignKey(name = "fk_refresh_token_user"))
     private UserEntity user;
 
-    @Column(name = "Token", nullable = false, length = 500)
+    @Column(name = "Token", nullable = false, length = 64, columnDefinition = "CHAR(64)")
     private String token;
 
     @Column(name = "ExpiresAt", nullable = false)
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +21,18 @@ public interface JpaRefreshTokenRepository extends JpaRepository<RefreshTokenEnt
     @Query("SELECT rt FROM RefreshTokenEntity rt WHERE rt.user.id = :userId AND rt.revokedAt IS NULL")
     List<RefreshTokenEntity> findActiveByUserId(@Param("userId") UUID userId);
 
+    /** Ids de los tokens vigentes del usuario, el mas nuevo primero (idx_refresh_token_user_active). */
+    @Query("""
+            SELECT rt.id FROM RefreshTokenEntity rt
+            WHERE rt.user.id = :userId AND rt.revokedAt IS NULL AND rt.expiresAt > :now
+            ORDER BY rt.createdDate DESC
+            """)
+    List<UUID> findActiveIdsNewestFirst(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenEntity rt SET rt.revokedAt = :now WHERE rt.id IN :ids AND rt.revokedAt IS NULL")
+    int revokeByIds(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
     @Modifying
     @Query("UPDATE RefreshTokenEntity rt SET rt.revokedAt = :now WHERE rt.token = :token AND rt.revokedAt IS NULL")
     int revokeByToken(@Param("token") String token, @Param("now") LocalDateTime now);
@@ -28,7 +41,26 @@ public interface JpaRefreshTokenRepository extends JpaRepository<RefreshTokenEnt
     @Query("UPDATE RefreshTokenEntity rt SET rt.revokedAt = :now WHERE rt.user.id = :userId AND rt.revokedAt IS NULL")
     int revokeAllByUserId(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
 
+    /*
+     * Purga por chunks: DELETE nativo con ORDER BY + LIMIT (MySQL) para que
+     * cada transaccion borre pocas filas y no bloquee los logins.
+     */
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_token
+            WHERE ExpiresAt < :cutoff
+            ORDER BY ExpiresAt ASC
+            LIMIT :limit
+            """, nativeQuery = true)
+    int deleteExpiredChunk(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
     @Modifying
-    @Query("DELETE FROM RefreshTokenEntity rt WHERE rt.expiresAt < :cutoff")
-    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+    @Query(value = """
+            DELETE FROM refresh_token
+            WHERE RevokedAt < :cutoff
+            ORDER BY RevokedAt ASC
+            LIMIT :limit
+            """, nativeQuery = true)
+    int deleteRevokedChunk(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
 }
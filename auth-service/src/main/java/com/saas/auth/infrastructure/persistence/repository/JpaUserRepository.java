@@ -2,27 +2,53 @@ package com.saas.auth.infrastructure.persistence.repository;
 
 import com.saas.auth.infrastructure.persistence.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface JpaUserRepository extends JpaRepository<UserEntity, UUID> {
 
+    /*
+     * Username y Email tienen collation utf8mb4_unicode_ci (fijada en V10): la
+     * igualdad ya es case-insensitive y la resuelve el indice UNIQUE. NO envolver
+     * en LOWER(): la funcion sobre la columna obliga a recorrer toda la tabla.
+     */
+
     Optional<UserEntity> findByUsername(String username);
 
     Optional<UserEntity> findByEmail(String email);
 
-    @Query("""
-            SELECT u FROM UserEntity u
-            WHERE (LOWER(u.username) = LOWER(:value) OR LOWER(u.email) = LOWER(:value))
-            """)
-    Optional<UserEntity> findByUsernameOrEmail(@Param("value") String value);
-
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    /*
+     * Chequeo por lote del import masivo: un IN por indice UNIQUE. Nativo a
+     * proposito: incluye las filas con Visible = 0 (el UNIQUE tambien las ve).
+     */
+
+    @Query(value = "SELECT Username FROM app_user WHERE Username IN (:usernames)", nativeQuery = true)
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query(value = "SELECT Email FROM app_user WHERE Email IN (:emails)", nativeQuery = true)
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Write-behind del ultimo login: un UPDATE para todo un lote con la misma
+     * hora. No retrocede el valor si ya hay uno mas reciente.
+     */
+    @Modifying
+    @Query("""
+            UPDATE UserEntity u SET u.lastLoginAt = :at
+            WHERE u.id IN :ids AND (u.lastLoginAt IS NULL OR u.lastLoginAt < :at)
+            """)
+    int touchLastLogin(@Param("ids") Collection<UUID> ids, @Param("at") LocalDateTime at);
 }
@@ -0,0 +1,192 @@
+package com.saas.auth.infrastructure.security;
+
+import com.saas.auth.domain.port.out.IPasswordHasherPort;
+import com.saas.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt en un pool dedicado: {@code threads} hilos (default = cores) y una
+ * cola acotada de {@code queue-capacity}. Una rafaga de logins ya no se come el
+ * pool de Tomcat con CPU de hashing: lo que no cabe en la cola se rechaza al
+ * instante con 429 + Retry-After, y health/refresh siguen respondiendo.
+ *
+ * El hilo del request espera el resultado con {@code wait-timeout-ms} como tope
+ * (si vence tambien es 429; el hash en curso se cancela).
+ *
+ * Metricas: {@code auth.password.hash} (latencia real de BCrypt por op),
+ * {@code auth.password.hash.wait} (cola + hash visto por el request),
+ * {@code auth.password.hash.rejected} y {@code auth.password.hash.queue}.
+ */
+@Slf4j
+@Component
+public class BoundedPasswordHasher implements IPasswordHasherPort {
+
+    private static final String SATURATED = "Servicio de autenticacion saturado, intenta de nuevo";
+    private static final long BULK_RETRY_PAUSE_MS = 20;
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMs;
+    private final long retryAfterSeconds;
+
+    private final MeterRegistry registry;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordHasher(PasswordEncoder encoder,
+                                 MeterRegistry registry,
+                                 @Value("${saas.auth.password.threads:0}") int threads,
+                                 @Value("${saas.auth.password.queue-capacity:64}") int queueCapacity,
+                                 @Value("${saas.auth.password.wait-timeout-ms:5000}") long waitTimeoutMs,
+                                 @Value("${saas.auth.password.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.encoder = encoder;
+        this.registry = registry;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder("auth.password.hash.wait")
+                .description("Espera del request por el hash (cola + BCrypt)")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejected = Counter.builder("auth.password.hash.rejected")
+                .description("Operaciones de hash rechazadas por saturacion (429)")
+                .register(registry);
+        Gauge.builder("auth.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Operaciones de hash en cola")
+                .register(registry);
+        log.info("Pool de hashing: threads={} queue={}", size, queueCapacity);
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return submit("encode", () -> encoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String passwordHash) {
+        return submit("matches", () -> encoder.matches(rawPassword, passwordHash));
+    }
+
+    @Override
+    public boolean needsUpgrade(String passwordHash) {
+        return passwordHash != null && encoder.upgradeEncoding(passwordHash);
+    }
+
+    /**
+     * Import masivo: nunca mete mas de {@code threads} hashes propios en el pool
+     * a la vez, asi la cola queda libre para los logins. Si el pool esta lleno
+     * por trafico de login, reintenta en pausas cortas hasta {@code wait-timeout-ms}.
+     */
+    @Override
+    public List<String> hashAll(List<String> rawPasswords) {
+        int window = executor.getMaximumPoolSize();
+        List<String> out = new ArrayList<>(rawPasswords.size());
+        for (int from = 0; from < rawPasswords.size(); from += window) {
+            List<Future<String>> slice = new ArrayList<>(window);
+            for (String raw : rawPasswords.subList(from, Math.min(from + window, rawPasswords.size()))) {
+                slice.add(enqueueWhenFree(() -> encoder.encode(raw)));
+            }
+            for (Future<String> f : slice) out.add(await(f));
+        }
+        return out;
+    }
+
+    private <T> T submit(String op, Callable<T> task) {
+        long start = System.nanoTime();
+        try {
+            Future<T> future;
+            try {
+                future = enqueue(op, task);
+            } catch (RejectedExecutionException ex) {
+                rejected.increment();
+                throw new TooManyRequestsException(SATURATED, retryAfterSeconds);
+            }
+            return await(future);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> Future<T> enqueue(String op, Callable<T> task) {
+        Timer hashTimer = Timer.builder("auth.password.hash")
+                .description("Latencia de BCrypt")
+                .tag("op", op)
+                .publishPercentileHistogram()
+                .register(registry);
+        return executor.submit(() -> hashTimer.recordCallable(task));
+    }
+
+    private <T> Future<T> enqueueWhenFree(Callable<T> task) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+        while (true) {
+            try {
+                return enqueue("encode", task);
+            } catch (RejectedExecutionException ex) {
+                if (System.nanoTime() > deadline) {
+                    rejected.increment();
+                    throw new TooManyRequestsException(SATURATED, retryAfterSeconds);
+                }
+                try {
+                    Thread.sleep(BULK_RETRY_PAUSE_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Hash de password interrumpido", ie);
+                }
+            }
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw new TooManyRequestsException(SATURATED, retryAfterSeconds);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hash de password interrumpido", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Fallo el hash de password", cause);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
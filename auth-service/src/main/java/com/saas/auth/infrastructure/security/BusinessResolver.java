@@ -1,10 +1,14 @@
 package com.saas.auth.infrastructure.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.saas.auth.infrastructure.client.BusinessServiceClient;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.UUID;
 
 /**
@@ -12,22 +16,77 @@ import java.util.UUID;
  * {@code /users/me}. NUNCA rompe el login: si business-service no responde o el
  * usuario aún no tiene negocio, devuelve null y el token se emite sin el claim
  * (fallback al comportamiento previo).
+ *
+ * Cache local userId -> businessId: la resolucion remota son 3-4 saltos
+ * (business -> search, respaldo thirdparty, business_owner) en cada login y
+ * refresh. Tambien se cachea el "sin negocio" (dueño que aun no aprovisiono)
+ * con un TTL corto. La invalidan los eventos de tercero y de business_owner
+ * ({@code BusinessResolverInvalidationListener}); el TTL largo es solo red de
+ * seguridad. Un fallo de Feign NO se cachea.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class BusinessResolver {
 
+    /** Valor cacheado; businessId null = sin negocio (cache negativa). */
+    private record Resolved(UUID businessId) {}
+
     private final BusinessServiceClient client;
+    private final Cache<UUID, Resolved> cache;
+
+    public BusinessResolver(BusinessServiceClient client,
+                            @Value("${saas.auth.business-cache.ttl-minutes:60}") long ttlMinutes,
+                            @Value("${saas.auth.business-cache.negative-ttl-seconds:60}") long negativeTtlSeconds,
+                            @Value("${saas.auth.business-cache.max-size:100000}") long maxSize) {
+        this.client = client;
+        long positiveNanos = Duration.ofMinutes(ttlMinutes).toNanos();
+        long negativeNanos = Duration.ofSeconds(negativeTtlSeconds).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<UUID, Resolved>() {
+                    @Override
+                    public long expireAfterCreate(UUID userId, Resolved value, long currentTime) {
+                        return value.businessId() != null ? positiveNanos : negativeNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(UUID userId, Resolved value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(userId, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(UUID userId, Resolved value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
 
     public UUID resolve(UUID userId) {
         if (userId == null) return null;
+        Resolved cached = cache.getIfPresent(userId);
+        if (cached != null) return cached.businessId();
         try {
             BusinessServiceClient.OwnerBusinessDto dto = client.ownerBusiness(userId);
-            return dto == null ? null : dto.businessId();
+            UUID businessId = dto == null ? null : dto.businessId();
+            cache.put(userId, new Resolved(businessId));
+            return businessId;
         } catch (Exception ex) {
             log.debug("No se pudo resolver businessId para userId={}: {}", userId, ex.getMessage());
             return null;
         }
     }
+
+    /** La persona del usuario cambio (alta/vinculo/baja): se vuelve a resolver. */
+    public void invalidateUser(UUID userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Cambio un vinculo business_owner: caen las entradas de ese negocio y todas
+     * las negativas (no sabemos que usuario acaba de quedar como dueño).
+     */
+    public void invalidateBusiness(UUID businessId) {
+        cache.asMap().values().removeIf(r -> r.businessId() == null || r.businessId().equals(businessId));
+    }
 }
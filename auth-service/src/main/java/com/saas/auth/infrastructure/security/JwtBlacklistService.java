@@ -3,30 +3,52 @@ package com.saas.auth.infrastructure.security;
 import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.Date;
+import java.util.HexFormat;
 
 /**
  * Publica access tokens revocados en Redis con TTL = remaining lifetime.
- * El gateway consulta {@code jwt:blacklist:<token>} en cada request: si existe,
- * 401 sin tocar downstream. Una vez expira el token natural, Redis lo borra
- * solo (sin job de limpieza).
  *
- * El prefijo coincide con {@link com.saas.gatewayservice.security.AuthenticationFilter#BLACKLIST_KEY_PREFIX}.
+ * La clave es {@code jwt:revoked:<id>}, donde id es el {@code jti} del token
+ * (o el SHA-256 hex del token si es anterior al jti): ~36-64 bytes por clave en
+ * vez del token completo. El valor es el exp en epoch millis.
+ *
+ * Ademas se publica {@code <id>|<exp>} en el canal {@link #CHANNEL}: cada
+ * gateway mantiene un set local de revocados y solo cae a Redis al arrancar o
+ * al resincronizar, no en cada request. Una vez expira el token natural,
+ * Redis lo borra solo (sin job de limpieza).
+ *
+ * Transicion: con {@code saas.auth.revocation.legacy-keys=true} tambien se
+ * escribe la clave vieja {@code jwt:blacklist:<token>} para los gateways aun
+ * no actualizados durante el rolling deploy. Se apaga pasado un TTL de access
+ * token desde que todo el cluster corre la version nueva.
+ *
+ * Prefijo y canal coinciden con {@code com.saas.gatewayservice.security.RevokedTokenSet}.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class JwtBlacklistService {
 
-    public static final String PREFIX = "jwt:blacklist:";
+    public static final String PREFIX = "jwt:revoked:";
+    public static final String CHANNEL = "jwt:revocations";
+    /** Clave previa (token completo); solo mientras dure la transicion. */
+    public static final String LEGACY_PREFIX = "jwt:blacklist:";
 
     private final StringRedisTemplate redis;
     private final JwtTokenProvider jwt;
 
+    @Value("${saas.auth.revocation.legacy-keys:true}")
+    private boolean writeLegacyKeys;
+
     public void blacklist(String accessToken) {
         if (accessToken == null || accessToken.isBlank()) return;
         try {
@@ -34,11 +56,28 @@ public class JwtBlacklistService {
             Date exp = claims.getExpiration();
             long remainingMs = exp.getTime() - System.currentTimeMillis();
             if (remainingMs <= 0) return; // ya expirado, no vale gastar memoria en Redis
-            redis.opsForValue().set(PREFIX + accessToken, "1", Duration.ofMillis(remainingMs));
+            String id = revocationId(claims, accessToken);
+            redis.opsForValue().set(PREFIX + id, Long.toString(exp.getTime()), Duration.ofMillis(remainingMs));
+            if (writeLegacyKeys) {
+                redis.opsForValue().set(LEGACY_PREFIX + accessToken, "1", Duration.ofMillis(remainingMs));
+            }
+            redis.convertAndSend(CHANNEL, id + "|" + exp.getTime());
             log.debug("Token blacklisted, TTL {}ms", remainingMs);
         } catch (Exception ex) {
             // Si Redis cae o token mal formado, NO bloqueamos el logout
             log.warn("No se pudo blacklistar token (se depende solo de la revocacion del refresh): {}", ex.getMessage());
         }
     }
+
+    /** jti del token; para tokens emitidos sin jti, el SHA-256 hex del token. */
+    static String revocationId(Claims claims, String token) {
+        String jti = claims.getId();
+        if (jti != null && !jti.isBlank()) return jti;
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.saas.auth.infrastructure.security;
 
+import com.saas.common.security.PermissionMatrix;
+import com.saas.common.security.PermissionMatrixHolder;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
@@ -23,6 +25,11 @@ import java.util.UUID;
  *   - roles      : Set&lt;String&gt; codigos de rol
  *   - businessId : UUID del negocio del dueño (opcional; ausente para admins o
  *                  dueños que aún no aprovisionaron)
+ *   - perms / pv : bitset de permisos efectivos (base64url) y version de la
+ *                  matriz con la que se compilo (opcional; ausente si aun no
+ *                  hay matriz o {@code saas.auth.jwt.permission-claim=false})
+ *   - jti        : id aleatorio del token; la revocacion (logout) se indexa
+ *                  por el, no por el token completo
  *   - iat / exp  : estandar
  */
 @Slf4j
@@ -32,20 +39,27 @@ public class JwtTokenProvider {
     private final SecretKey key;
     @Getter private final long accessTokenTtlMillis;
     @Getter private final long refreshTokenTtlMillis;
+    private final PermissionMatrixHolder permissionMatrix;
+    private final boolean permissionClaim;
 
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.expirationMs}") long accessTtl,
-            @Value("${jwt.refreshTokenExpirationMs}") long refreshTtl
+            @Value("${jwt.refreshTokenExpirationMs}") long refreshTtl,
+            PermissionMatrixHolder permissionMatrix,
+            @Value("${saas.auth.jwt.permission-claim:true}") boolean permissionClaim
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.accessTokenTtlMillis = accessTtl;
         this.refreshTokenTtlMillis = refreshTtl;
+        this.permissionMatrix = permissionMatrix;
+        this.permissionClaim = permissionClaim;
     }
 
     public String generateAccessToken(UUID userId, String username, Set<String> roles, UUID businessId) {
         Instant now = Instant.now();
         var builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userId.toString())
                 .claim("username", username)
                 .claim("roles", roles)
@@ -54,6 +68,11 @@ public class JwtTokenProvider {
         if (businessId != null) {
             builder.claim("businessId", businessId.toString());
         }
+        if (permissionClaim) {
+            permissionMatrix.current().ifPresent(m -> builder
+                    .claim("pv", m.version())
+                    .claim("perms", PermissionMatrix.encode(m.permissionsOf(roles))));
+        }
         return builder.signWith(key).compact();
     }
 
@@ -0,0 +1,73 @@
+package com.saas.auth.infrastructure.security;
+
+import com.saas.auth.domain.port.out.IRefreshTokenRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Purga de {@code refresh_token}: cada login y cada rotacion insertan una fila,
+ * y sin esto las expiradas y revocadas se acumulan para siempre detras de los
+ * lookups y del logout global.
+ *
+ *   - Expiradas: se borran apenas vencen (ya no sirven para nada).
+ *   - Revocadas: se conservan {@code revoked-retention-hours} (rastro reciente
+ *     de logout/rotacion) y luego se borran.
+ *
+ * Cada chunk es una transaccion corta (ORDER BY ... LIMIT n) para no bloquear
+ * los logins; si corre en varias instancias a la vez es seguro (solo borra).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "saas.auth.refresh-token.purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RefreshTokenHousekeeper {
+
+    private final IRefreshTokenRepositoryPort repo;
+    private final TransactionTemplate tx;
+
+    @Value("${saas.auth.refresh-token.purge.revoked-retention-hours:24}")
+    private long revokedRetentionHours;
+
+    @Value("${saas.auth.refresh-token.purge.chunk-size:500}")
+    private int chunkSize;
+
+    /** Tope de chunks por corrida: el resto se procesa en la siguiente. */
+    @Value("${saas.auth.refresh-token.purge.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    @Scheduled(cron = "${saas.auth.refresh-token.purge.cron:0 */10 * * * *}")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = runChunks(() -> repo.deleteExpiredChunk(now, chunkSize));
+        LocalDateTime revokedCutoff = now.minus(Duration.ofHours(revokedRetentionHours));
+        int revoked = runChunks(() -> repo.deleteRevokedChunk(revokedCutoff, chunkSize));
+        if (expired > 0 || revoked > 0) {
+            log.info("Refresh tokens purgados: {} expirados, {} revocados (cutoff={})", expired, revoked, revokedCutoff);
+        }
+    }
+
+    /** Ejecuta chunks (cada uno en su transaccion) hasta que uno venga incompleto. */
+    private int runChunks(ChunkOperation op) {
+        int total = 0;
+        for (int i = 0; i < maxChunksPerRun; i++) {
+            Integer affected = tx.execute(status -> op.apply());
+            int n = affected != null ? affected : 0;
+            total += n;
+            if (n < chunkSize) break;
+        }
+        return total;
+    }
+
+    @FunctionalInterface
+    private interface ChunkOperation {
+        int apply();
+    }
+}
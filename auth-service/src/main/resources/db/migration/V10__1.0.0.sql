@@ -0,0 +1,18 @@
+-- =====================================================================
+-- V10__1.0.0.sql
+-- Lookup de login case-insensitive POR INDICE.
+--
+-- El login buscaba con LOWER(Username) = LOWER(:v) OR LOWER(Email) = LOWER(:v):
+-- la funcion sobre la columna impide usar uq_app_user_username / uq_app_user_email
+-- y cada intento de login recorria app_user completa.
+--
+-- No hace falta columna normalizada ni indice funcional: con una collation
+-- _ci la igualdad ya es case-insensitive y la resuelve el indice UNIQUE. Las
+-- columnas la heredan hoy de la tabla; aqui se FIJA explicitamente, porque
+-- ahora el lookup depende de ello (JpaUserRepository compara sin LOWER).
+-- La unicidad tambien queda case-insensitive (Juan@x.com = juan@x.com).
+-- =====================================================================
+
+ALTER TABLE app_user
+    MODIFY COLUMN Username VARCHAR(60)  NOT NULL COLLATE utf8mb4_unicode_ci,
+    MODIFY COLUMN Email    VARCHAR(120) NOT NULL COLLATE utf8mb4_unicode_ci;
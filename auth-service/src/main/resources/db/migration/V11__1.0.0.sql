@@ -0,0 +1,28 @@
+-- =====================================================================
+-- V11__1.0.0.sql
+-- refresh_token: digest de ancho fijo + indices para purga y tope por usuario.
+--
+-- Token guardaba el valor opaco en claro (64 chars en un VARCHAR(500)
+-- utf8mb4): un volcado de la tabla entregaba sesiones vivas, y el UNIQUE
+-- cargaba claves de hasta 2000 bytes. Ahora guarda SHA-256 en hex (CHAR(64)
+-- ascii_bin, 64 bytes). Los tokens vigentes siguen sirviendo: se convierten
+-- aqui con SHA2() y la app hashea el valor presentado antes de buscarlo.
+--
+-- Indices:
+--   idx_refresh_token_user_active (UserId, RevokedAt, ExpiresAt): tokens
+--       activos de un usuario (tope por usuario, logout global). Reemplaza a
+--       idx_refresh_token_user como indice de la FK.
+--   idx_refresh_token_expires / idx_refresh_token_revoked: la purga por
+--       chunks (DELETE ... ORDER BY ... LIMIT n) recorre solo lo que borra.
+-- =====================================================================
+
+UPDATE refresh_token SET Token = SHA2(Token, 256);
+
+ALTER TABLE refresh_token
+    MODIFY COLUMN Token CHAR(64) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+    ADD KEY idx_refresh_token_user_active (UserId, RevokedAt, ExpiresAt),
+    ADD KEY idx_refresh_token_expires (ExpiresAt),
+    ADD KEY idx_refresh_token_revoked (RevokedAt);
+
+ALTER TABLE refresh_token
+    DROP INDEX idx_refresh_token_user;
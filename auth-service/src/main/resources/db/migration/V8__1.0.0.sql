@@ -0,0 +1,42 @@
+-- =====================================================================
+-- V8__1.0.0.sql
+-- Retencion del outbox: archivo de eventos publicados + indice de purga.
+--
+-- outbox_event crecia para siempre (nada borraba los PUBLISHED). El
+-- OutboxHousekeeper (saas-common) mueve por chunks los PUBLISHED mas viejos
+-- que la ventana de retencion a outbox_event_archive y los borra de la tabla
+-- caliente. Asi outbox_event solo guarda PENDING/FAILED + la ventana reciente
+-- y el lockBatch del relay (idx_outbox_status_created) escanea O(pendientes).
+--
+-- Se usa tabla de archivo en vez de PARTITION BY RANGE: MySQL exige que la
+-- columna de particion este en toda UNIQUE KEY (Id, EventId) y obligaria a
+-- mantener particiones a mano.
+-- =====================================================================
+
+-- Indice para la purga: WHERE Status='PUBLISHED' AND PublishedAt < ? ORDER BY PublishedAt.
+-- No compite con idx_outbox_status_created (scan de PENDING del relay).
+ALTER TABLE outbox_event
+    ADD INDEX idx_outbox_status_published (Status, PublishedAt);
+
+CREATE TABLE outbox_event_archive (
+    Id              BINARY(16)    NOT NULL,
+    EventId         BINARY(16)    NOT NULL,
+    AggregateType   VARCHAR(64)   NOT NULL,
+    AggregateId     BINARY(16)    NOT NULL,
+    EventType       VARCHAR(128)  NOT NULL,
+    Version         INT           NOT NULL DEFAULT 1,
+    BusinessId      BINARY(16)    NULL,
+    Payload         JSON          NOT NULL,
+    Status          VARCHAR(16)   NOT NULL,
+    Retries         INT           NOT NULL DEFAULT 0,
+    LastError       TEXT          NULL,
+    CreatedAt       DATETIME(3)   NOT NULL,
+    PublishedAt     DATETIME(3)   NULL,
+    -- Cuando el housekeeper movio la fila.
+    ArchivedAt      DATETIME(3)   NOT NULL,
+    PRIMARY KEY (Id),
+    -- Consultas de soporte: "que eventos tuvo este agregado".
+    INDEX idx_outbox_archive_aggregate (AggregateId, CreatedAt),
+    -- Purga del propio archivo por antiguedad.
+    INDEX idx_outbox_archive_published (PublishedAt)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
@@ -0,0 +1,91 @@
+-- =====================================================================
+-- V9__1.0.0.sql
+-- Relay del outbox por lanes (paralelo sin perder orden por agregado).
+--
+-- Shard: bucket fijo [0, 64) calculado al publicar a partir de la clave de
+-- particion Kafka (BusinessId o AggregateId). El relay corre N lanes
+-- (saas.outbox.lanes) y el lane i drena los shards con Shard % N = i.
+-- Las filas previas quedan en el shard 0 (un solo lane: orden intacto).
+--
+-- outbox_lane: una fila por lane posible. El worker de un lane la toma con
+-- FOR UPDATE SKIP LOCKED antes de leer su batch; si otra instancia la tiene,
+-- se salta el ciclo. Asi cada lane lo drena UN solo worker a la vez en todo
+-- el cluster y los eventos de una misma key no se reordenan entre instancias.
+-- =====================================================================
+
+ALTER TABLE outbox_event
+    ADD COLUMN Shard INT NOT NULL DEFAULT 0;
+
+ALTER TABLE outbox_event_archive
+    ADD COLUMN Shard INT NOT NULL DEFAULT 0;
+
+CREATE TABLE outbox_lane (
+    Lane INT NOT NULL,
+    PRIMARY KEY (Lane)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+
+INSERT INTO outbox_lane (Lane) VALUES
+    (0),
+    (1),
+    (2),
+    (3),
+    (4),
+    (5),
+    (6),
+    (7),
+    (8),
+    (9),
+    (10),
+    (11),
+    (12),
+    (13),
+    (14),
+    (15),
+    (16),
+    (17),
+    (18),
+    (19),
+    (20),
+    (21),
+    (22),
+    (23),
+    (24),
+    (25),
+    (26),
+    (27),
+    (28),
+    (29),
+    (30),
+    (31),
+    (32),
+    (33),
+    (34),
+    (35),
+    (36),
+    (37),
+    (38),
+    (39),
+    (40),
+    (41),
+    (42),
+    (43),
+    (44),
+    (45),
+    (46),
+    (47),
+    (48),
+    (49),
+    (50),
+    (51),
+    (52),
+    (53),
+    (54),
+    (55),
+    (56),
+    (57),
+    (58),
+    (59),
+    (60),
+    (61),
+    (62),
+    (63);
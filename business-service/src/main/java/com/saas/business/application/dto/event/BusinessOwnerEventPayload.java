@@ -0,0 +1,19 @@
+package com.saas.business.application.dto.event;
+
+import com.saas.business.domain.model.BusinessOwner;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/** Payload de {@code business.owner.changed}. */
+public record BusinessOwnerEventPayload(
+        UUID id,
+        UUID businessId,
+        UUID thirdPartyId,
+        LocalDate endDate,
+        boolean deleted
+) {
+    public static BusinessOwnerEventPayload from(BusinessOwner o, boolean deleted) {
+        return new BusinessOwnerEventPayload(o.getId(), o.getBusinessId(), o.getThirdPartyId(), o.getEndDate(), deleted);
+    }
+}
@@ -0,0 +1,10 @@
+package com.saas.business.application.dto.event;
+
+import java.util.UUID;
+
+/**
+ * Payload de {@code business.public.changed}: solo dice QUE negocio cambio y
+ * desde que agregado; los consumidores (cache de borde del gateway) vuelven a
+ * pedir el contenido, no lo reconstruyen del evento.
+ */
+public record PublicContentChangedPayload(UUID businessId, String source) {}
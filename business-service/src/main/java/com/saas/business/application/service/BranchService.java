@@ -13,7 +13,13 @@ import java.util.UUID;
 public class BranchService extends GenericCrudService<Branch, UUID> implements IBranchUseCase {
 
     private final IBranchRepositoryPort repo;
-    public BranchService(IBranchRepositoryPort repo) { super(repo); this.repo = repo; }
+    private final PublicContentEvents publicContent;
+
+    public BranchService(IBranchRepositoryPort repo, PublicContentEvents publicContent) {
+        super(repo);
+        this.repo = repo;
+        this.publicContent = publicContent;
+    }
 
     @Override protected String getResourceName() { return "Sede"; }
 
@@ -30,6 +36,22 @@ public class BranchService extends GenericCrudService<Branch, UUID> implements I
         if (incoming.getStatusId() != null)      existing.setStatusId(incoming.getStatusId());
     }
 
+    // Las sedes activas salen en la landing publica.
+    @Override
+    protected void onAfterCreate(Branch saved) {
+        publicContent.changed(saved.getBusinessId(), "branch");
+    }
+
+    @Override
+    protected void onAfterUpdate(Branch existing, Branch updated) {
+        publicContent.changed(updated.getBusinessId(), "branch");
+    }
+
+    @Override
+    protected void onAfterDelete(UUID id, Branch snapshot) {
+        publicContent.changed(snapshot.getBusinessId(), "branch");
+    }
+
     @Override @Transactional(readOnly = true)
     public List<Branch> findByBusiness(UUID businessId) { return repo.findByBusinessId(businessId); }
 }
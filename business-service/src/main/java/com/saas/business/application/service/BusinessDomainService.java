@@ -16,10 +16,12 @@ public class BusinessDomainService extends GenericCrudService<BusinessDomain, UU
         implements IBusinessDomainUseCase {
 
     private final IBusinessDomainRepositoryPort repo;
+    private final PublicContentEvents publicContent;
 
-    public BusinessDomainService(IBusinessDomainRepositoryPort repo) {
+    public BusinessDomainService(IBusinessDomainRepositoryPort repo, PublicContentEvents publicContent) {
         super(repo);
         this.repo = repo;
+        this.publicContent = publicContent;
     }
 
     @Override protected String getResourceName() { return "Dominio de empresa"; }
@@ -38,6 +40,22 @@ public class BusinessDomainService extends GenericCrudService<BusinessDomain, UU
         if (incoming.getStatusId() != null)     existing.setStatusId(incoming.getStatusId());
     }
 
+    // El slug es la llave de la landing/branding publicos.
+    @Override
+    protected void onAfterCreate(BusinessDomain saved) {
+        publicContent.changed(saved.getBusinessId(), "domain");
+    }
+
+    @Override
+    protected void onAfterUpdate(BusinessDomain existing, BusinessDomain updated) {
+        publicContent.changed(updated.getBusinessId(), "domain");
+    }
+
+    @Override
+    protected void onAfterDelete(UUID id, BusinessDomain snapshot) {
+        publicContent.changed(snapshot.getBusinessId(), "domain");
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Optional<BusinessDomain> findBySlug(String slug) {
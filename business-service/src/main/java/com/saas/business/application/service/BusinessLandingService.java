@@ -20,6 +20,7 @@ import java.util.UUID;
 public class BusinessLandingService implements IBusinessLandingUseCase {
 
     private final IBusinessLandingRepositoryPort repo;
+    private final PublicContentEvents publicContent;
 
     @Override
     @Transactional(readOnly = true)
@@ -30,6 +31,7 @@ public class BusinessLandingService implements IBusinessLandingUseCase {
     @Override
     @Transactional
     public BusinessLanding upsert(UUID businessId, BusinessLanding incoming) {
+        publicContent.changed(businessId, "landing");
         return repo.findByBusinessId(businessId)
                 .map(existing -> {
                     applyChanges(existing, incoming);
@@ -1,9 +1,12 @@
 package com.saas.business.application.service;
 
+import com.saas.business.application.dto.event.BusinessOwnerEventPayload;
 import com.saas.business.domain.model.BusinessOwner;
 import com.saas.business.domain.port.in.IBusinessOwnerUseCase;
 import com.saas.business.domain.port.out.IBusinessOwnerRepositoryPort;
+import com.saas.common.events.EventTypes;
 import com.saas.common.exception.BusinessException;
+import com.saas.common.outbox.OutboxPublisher;
 import com.saas.common.service.GenericCrudService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,7 +18,13 @@ import java.util.UUID;
 public class BusinessOwnerService extends GenericCrudService<BusinessOwner, UUID> implements IBusinessOwnerUseCase {
 
     private final IBusinessOwnerRepositoryPort repo;
-    public BusinessOwnerService(IBusinessOwnerRepositoryPort repo) { super(repo); this.repo = repo; }
+    private final OutboxPublisher outbox;
+
+    public BusinessOwnerService(IBusinessOwnerRepositoryPort repo, OutboxPublisher outbox) {
+        super(repo);
+        this.repo = repo;
+        this.outbox = outbox;
+    }
 
     @Override protected String getResourceName() { return "Propietario"; }
 
@@ -26,6 +35,21 @@ public class BusinessOwnerService extends GenericCrudService<BusinessOwner, UUID
         if (incoming.getEndDate() != null)   existing.setEndDate(incoming.getEndDate());
     }
 
+    // auth-service cachea userId -> businessId: cualquier cambio del vinculo lo invalida.
+    @Override
+    protected void onAfterCreate(BusinessOwner saved) { publishChanged(saved, false); }
+
+    @Override
+    protected void onAfterUpdate(BusinessOwner existing, BusinessOwner updated) { publishChanged(updated, false); }
+
+    @Override
+    protected void onAfterDelete(UUID id, BusinessOwner snapshot) { publishChanged(snapshot, true); }
+
+    private void publishChanged(BusinessOwner owner, boolean deleted) {
+        outbox.publish(EventTypes.BUSINESS_OWNER_CHANGED, owner.getBusinessId(), "businessowner", owner.getId(),
+                BusinessOwnerEventPayload.from(owner, deleted));
+    }
+
     /** Valida que la suma de % vigentes por empresa no supere 100. */
     @Override
     protected void onBeforeCreate(BusinessOwner entity) {
@@ -11,7 +11,12 @@ import java.util.UUID;
 @Service
 public class BusinessService extends GenericCrudService<Business, UUID> implements IBusinessUseCase {
 
-    public BusinessService(IBusinessRepositoryPort repo) { super(repo); }
+    private final PublicContentEvents publicContent;
+
+    public BusinessService(IBusinessRepositoryPort repo, PublicContentEvents publicContent) {
+        super(repo);
+        this.publicContent = publicContent;
+    }
 
     @Override protected String getResourceName() { return "Empresa"; }
 
@@ -28,4 +33,15 @@ public class BusinessService extends GenericCrudService<Business, UUID> implemen
         if (incoming.getPrimaryColor() != null)   existing.setPrimaryColor(incoming.getPrimaryColor());
         if (incoming.getSecondaryColor() != null) existing.setSecondaryColor(incoming.getSecondaryColor());
     }
+
+    // Nombre, logo y colores salen en el branding/landing publicos.
+    @Override
+    protected void onAfterUpdate(Business existing, Business updated) {
+        publicContent.changed(updated.getId(), "business");
+    }
+
+    @Override
+    protected void onAfterDelete(UUID id, Business snapshot) {
+        publicContent.changed(id, "business");
+    }
 }
@@ -12,7 +12,12 @@ import java.util.UUID;
 @Service
 public class OfferingService extends GenericCrudService<Offering, UUID> implements IOfferingUseCase {
     private final IOfferingRepositoryPort repo;
-    public OfferingService(IOfferingRepositoryPort repo) { super(repo); this.repo = repo; }
+    private final PublicContentEvents publicContent;
+    public OfferingService(IOfferingRepositoryPort repo, PublicContentEvents publicContent) {
+        super(repo);
+        this.repo = repo;
+        this.publicContent = publicContent;
+    }
     @Override protected String getResourceName() { return "Oferta"; }
     @Override protected void applyChanges(Offering e, Offering i) {
         if (i.getCategoryId() != null) e.setCategoryId(i.getCategoryId());
@@ -22,6 +27,10 @@ public class OfferingService extends GenericCrudService<Offering, UUID> implemen
         if (i.getPrice() != null) e.setPrice(i.getPrice());
         if (i.getIsActive() != null) e.setIsActive(i.getIsActive());
     }
+    // Los servicios activos salen en la landing publica.
+    @Override protected void onAfterCreate(Offering saved) { publicContent.changed(saved.getBusinessId(), "offering"); }
+    @Override protected void onAfterUpdate(Offering e, Offering updated) { publicContent.changed(updated.getBusinessId(), "offering"); }
+    @Override protected void onAfterDelete(UUID id, Offering snapshot) { publicContent.changed(snapshot.getBusinessId(), "offering"); }
     @Override @Transactional(readOnly = true)
     public List<Offering> findByBusiness(UUID businessId) { return repo.findByBusinessId(businessId); }
 }
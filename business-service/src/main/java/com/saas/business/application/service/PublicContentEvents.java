@@ -0,0 +1,27 @@
+package com.saas.business.application.service;
+
+import com.saas.business.application.dto.event.PublicContentChangedPayload;
+import com.saas.common.events.EventTypes;
+import com.saas.common.outbox.OutboxPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Emite {@code business.public.changed} cuando cambia algo visible en la
+ * landing/branding publicos del negocio. El aggregateId es el businessId, asi
+ * que varios cambios en la misma transaccion colapsan en un solo evento.
+ */
+@Component
+@RequiredArgsConstructor
+public class PublicContentEvents {
+
+    private final OutboxPublisher outbox;
+
+    public void changed(UUID businessId, String source) {
+        if (businessId == null) return;
+        outbox.publish(EventTypes.BUSINESS_PUBLIC_CHANGED, businessId, "business", businessId,
+                new PublicContentChangedPayload(businessId, source));
+    }
+}
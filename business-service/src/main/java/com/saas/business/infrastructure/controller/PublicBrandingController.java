@@ -5,6 +5,7 @@ import com.saas.business.domain.model.Business;
 import com.saas.business.domain.model.BusinessDomain;
 import com.saas.business.domain.port.in.IBusinessDomainUseCase;
 import com.saas.business.domain.port.in.IBusinessUseCase;
+import com.saas.common.controller.EdgeCacheTags;
 import com.saas.common.dto.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 /**
  * Endpoints PÚBLICOS (sin JWT). Resuelven el branding de una empresa por su
  * slug para que el front pueda tematizar el login del dueño antes de autenticar.
+ * La respuesta va etiquetada para la cache de borde del gateway ({@link EdgeCacheTags}).
  */
 @RestController
 @RequestMapping("/public")
@@ -30,9 +32,9 @@ public class PublicBrandingController {
         return domainUseCase.findBySlug(slug)
                 .map(BusinessDomain::getBusinessId)
                 .map(businessUseCase::getById)
-                .map(b -> brandingOf(b, slug))
-                .map(ApiResponse::success)
-                .map(ResponseEntity::ok)
+                .map(b -> ResponseEntity.ok()
+                        .header(EdgeCacheTags.HEADER, EdgeCacheTags.business(b.getId()))
+                        .body(ApiResponse.success(brandingOf(b, slug))))
                 .orElseGet(() -> ResponseEntity.ok(ApiResponse.error("Slug no encontrado", 404)));
     }
 
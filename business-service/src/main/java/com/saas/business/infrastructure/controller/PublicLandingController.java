@@ -9,6 +9,7 @@ import com.saas.business.domain.port.in.IBusinessDomainUseCase;
 import com.saas.business.domain.port.in.IBusinessLandingUseCase;
 import com.saas.business.domain.port.in.IBusinessUseCase;
 import com.saas.business.domain.port.in.IOfferingUseCase;
+import com.saas.common.controller.EdgeCacheTags;
 import com.saas.common.dto.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -35,7 +36,9 @@ import java.util.UUID;
  * está en los OPEN_PREFIXES del gateway):
  *  - {@code GET /public/landing?slug=}: agrega en UN request todo lo que la
  *    página necesita (branding + contenido + sedes + servicios activos).
- *    404 si el slug no existe o la landing no está publicada.
+ *    404 si el slug no existe o la landing no está publicada. Si el slug
+ *    existe, la respuesta va etiquetada para la cache de borde del gateway
+ *    ({@link EdgeCacheTags}), que la invalida con {@code business.public.changed}.
  *  - {@code GET /public/landing-assets/{filename}}: sirve las imágenes subidas
  *    desde el editor.
  */
@@ -62,7 +65,9 @@ public class PublicLandingController {
         UUID businessId = domain.get().getBusinessId();
         Optional<BusinessLanding> landing = landingUseCase.findByBusiness(businessId);
         if (landing.isEmpty() || !Boolean.TRUE.equals(landing.get().getPublished())) {
-            return ResponseEntity.ok(ApiResponse.error("Página no publicada", 404));
+            return ResponseEntity.ok()
+                    .header(EdgeCacheTags.HEADER, EdgeCacheTags.business(businessId))
+                    .body(ApiResponse.error("Página no publicada", 404));
         }
 
         Business b = businessUseCase.getById(businessId);
@@ -86,7 +91,9 @@ public class PublicLandingController {
                         l.getContactEmail(), l.getInstagram(), l.getFacebook(),
                         l.getHeroImageUrl(), l.getGalleryJson(), l.getScheduleText()),
                 branches, offerings);
-        return ResponseEntity.ok(ApiResponse.success(body));
+        return ResponseEntity.ok()
+                .header(EdgeCacheTags.HEADER, EdgeCacheTags.business(businessId))
+                .body(ApiResponse.success(body));
     }
 
     @GetMapping("/landing-assets/{filename}")
@@ -18,7 +18,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  * <p>Es productor de eventos de dominio: escribe en {@code outbox_event}
  * (mismo esquema) dentro de la transacción del cambio y el
  * {@code OutboxRelay} de saas-common los publica a Kafka
- * ({@code @EnableScheduling} habilita el poller del relay).</p>
+ * ({@code @EnableScheduling} habilita las tareas programadas de saas-common).</p>
  */
 @SpringBootApplication(scanBasePackages = {
         "com.saas.finance",
@@ -0,0 +1,206 @@
+package com.saas.gatewayservice.cache;
+
+import com.saas.gatewayservice.security.RouteValidator;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Cache de borde para los GET de rutas publicas ({@link RouteValidator}):
+ * landing, branding, version vigente del APK. Un hit se responde desde el
+ * gateway sin tocar Eureka/downstream/MySQL.
+ *
+ * Solo se guardan respuestas que el downstream marco con
+ * {@link EdgeResponseCache#TAG_HEADER} (opt-in explicito: /auth/exists, los
+ * binarios, etc. nunca se cachean). El tag se retira antes de responder.
+ *
+ * ETag / If-None-Match: toda respuesta cacheable sale con ETag (el del
+ * downstream o un SHA-256 del body) y {@code Cache-Control: no-cache}, asi
+ * el cliente revalida y recibe 304 sin body mientras no haya cambios.
+ *
+ * Orden: antes de {@link NettyWriteResponseFilter} para poder decorar la
+ * respuesta. Corre antes que el AuthenticationFilter, que igual no aplica a
+ * rutas publicas.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "saas.gateway.edge-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EdgeCacheFilter implements GlobalFilter, Ordered {
+
+    private static final String STATUS_HEADER = "X-Edge-Cache";
+
+    /** Headers que no se guardan: hop-by-hop, por-respuesta o propios del gateway (CORS). */
+    private static final Set<String> NOT_STORED = Set.of(
+            "set-cookie", "date", "content-length", "transfer-encoding", "connection",
+            "keep-alive", "vary", "etag", EdgeResponseCache.TAG_HEADER.toLowerCase(Locale.ROOT));
+
+    private final EdgeResponseCache cache;
+    private final RouteValidator routes;
+
+    @Value("${saas.gateway.edge-cache.max-entry-bytes:262144}")
+    private int maxEntryBytes;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || routes.requiresAuthentication(request)) {
+            return chain.filter(exchange);
+        }
+
+        String key = keyOf(request);
+        EdgeResponseCache.Entry hit = cache.get(key);
+        if (hit != null) {
+            return serve(exchange, hit);
+        }
+
+        long generation = cache.generation();
+        return chain.filter(exchange.mutate()
+                .response(new CapturingResponse(exchange, key, generation))
+                .build());
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, EdgeResponseCache.Entry hit) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(hit.headers());
+        headers.setETag(hit.etag());
+        headers.set(STATUS_HEADER, "HIT");
+        if (notModified(exchange.getRequest(), hit.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatusCode.valueOf(hit.status()));
+        headers.setContentLength(hit.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(hit.body())));
+    }
+
+    /**
+     * Path + query + si el cliente acepta gzip (el downstream puede comprimir
+     * y la respuesta comprimida no sirve a quien no lo acepta).
+     */
+    private static String keyOf(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String encoding = request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = encoding != null && encoding.contains("gzip");
+        return request.getURI().getRawPath() + (query != null ? "?" + query : "") + (gzip ? "|gz" : "");
+    }
+
+    private static boolean notModified(ServerHttpRequest request, String etag) {
+        List<String> candidates = request.getHeaders().getIfNoneMatch();
+        for (String candidate : candidates) {
+            if ("*".equals(candidate) || weak(candidate).equals(weak(etag))) return true;
+        }
+        return false;
+    }
+
+    private static String weak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+
+    private static boolean cacheable(HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) return false;
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    private static HttpHeaders storedCopy(HttpHeaders source) {
+        HttpHeaders copy = new HttpHeaders();
+        source.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (!NOT_STORED.contains(lower) && !lower.startsWith("access-control-")) {
+                copy.put(name, List.copyOf(values));
+            }
+        });
+        return copy;
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    /** Captura el body del downstream (si viene etiquetado) para guardarlo y responder con ETag. */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final long generation;
+
+        CapturingResponse(ServerWebExchange exchange, String key, long generation) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.generation = generation;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            String tag = headers.getFirst(EdgeResponseCache.TAG_HEADER);
+            headers.remove(EdgeResponseCache.TAG_HEADER);
+            HttpStatusCode status = getStatusCode();
+            long length = headers.getContentLength();
+            if (tag == null || status == null || !status.is2xxSuccessful()
+                    || !cacheable(headers) || length > maxEntryBytes) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                String etag = headers.getETag() != null ? headers.getETag() : etagOf(bytes);
+                if (headers.getCacheControl() == null) headers.setCacheControl("no-cache");
+                if (bytes.length <= maxEntryBytes) {
+                    cache.put(key, new EdgeResponseCache.Entry(
+                            status.value(), storedCopy(headers), bytes, etag, tag), generation);
+                }
+                headers.setETag(etag);
+                headers.set(STATUS_HEADER, "MISS");
+
+                if (notModified(exchange.getRequest(), etag)) {
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    return getDelegate().setComplete();
+                }
+                headers.setContentLength(bytes.length);
+                return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.saas.gatewayservice.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalida la cache de borde consumiendo {@code domain.events}.
+ *
+ * Cada instancia del gateway tiene su PROPIA cache, asi que cada una usa su
+ * propio group-id (broadcast, no reparto de particiones), estable entre
+ * reinicios ({@code saas.kafka.instance-id}), y sin offset previo arranca en
+ * {@code latest}: al arrancar la cache esta vacia, no hay nada que reprocesar.
+ *
+ * Tipos coinciden con {@code com.saas.common.events.EventTypes}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "saas.gateway.edge-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EdgeCacheInvalidationListener {
+
+    static final String BUSINESS_PUBLIC_CHANGED = "business.public.changed";
+    static final String APP_VERSION_CHANGED = "app.version.changed";
+
+    private final EdgeResponseCache cache;
+    private final ObjectMapper mapper;
+
+    @KafkaListener(
+            topics = "${saas.outbox.topic:domain.events}",
+            groupId = "${spring.application.name}-edge-cache-${saas.kafka.instance-id}",
+            properties = "auto.offset.reset=latest")
+    public void onMessage(String json) {
+        JsonNode envelope;
+        try {
+            envelope = mapper.readTree(json);
+        } catch (Exception ex) {
+            log.debug("Evento no deserializable, ignorado: {}", ex.getMessage());
+            return;
+        }
+        switch (envelope.path("type").asText()) {
+            case BUSINESS_PUBLIC_CHANGED -> {
+                String businessId = envelope.path("businessId").asText(null);
+                if (businessId != null) cache.invalidate("business:" + businessId);
+            }
+            case APP_VERSION_CHANGED -> cache.invalidate("app-version");
+            default -> { }
+        }
+    }
+}
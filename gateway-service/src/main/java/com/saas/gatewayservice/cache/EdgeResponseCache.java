@@ -0,0 +1,76 @@
+package com.saas.gatewayservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Almacen acotado (por bytes) de respuestas publicas cacheadas en el borde.
+ *
+ * Cada entrada lleva el tag que le puso el downstream ({@link #TAG_HEADER});
+ * {@link #invalidate(String)} borra todas las de ese tag. El TTL es solo una
+ * red de seguridad para invalidaciones perdidas (Kafka caido): la frescura
+ * normal la dan los eventos de dominio.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "saas.gateway.edge-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EdgeResponseCache {
+
+    /** Coincide con {@code com.saas.common.controller.EdgeCacheTags#HEADER}. */
+    public static final String TAG_HEADER = "X-Edge-Cache-Tag";
+
+    /** Respuesta cacheada: status, headers reenviables, body y su ETag. */
+    public record Entry(int status, HttpHeaders headers, byte[] body, String etag, String tag) {}
+
+    private final Cache<String, Entry> cache;
+    /**
+     * Se incrementa en cada invalidacion. Un miss que arranco antes de una
+     * invalidacion no debe dejar guardada una respuesta vieja (ver {@link #put}).
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public EdgeResponseCache(@Value("${saas.gateway.edge-cache.max-bytes:33554432}") long maxBytes,
+                             @Value("${saas.gateway.edge-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Entry e) -> e.body().length + key.length())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public Entry get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Guarda la entrada si no hubo invalidaciones desde {@code generationAtStart}.
+     * Se re-verifica DESPUES del put: si una invalidacion se cruzo, la entrada
+     * se retira (el removeIf de la invalidacion pudo haber corrido antes).
+     */
+    public void put(String key, Entry entry, long generationAtStart) {
+        if (generation.get() != generationAtStart) return;
+        cache.put(key, entry);
+        if (generation.get() != generationAtStart) {
+            cache.asMap().remove(key, entry);
+        }
+    }
+
+    /** Borra todas las entradas con el tag. O(n) sobre la cache: los eventos que invalidan son raros. */
+    public void invalidate(String tag) {
+        generation.incrementAndGet();
+        boolean removed = cache.asMap().values().removeIf(e -> tag.equals(e.tag()));
+        if (removed) log.debug("Cache de borde invalidada: tag={}", tag);
+    }
+}
@@ -0,0 +1,65 @@
+package com.saas.gatewayservice.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Un {@link GradientLimit} por downstream ({@code lb://...}), compartido por
+ * todas las rutas que apuntan a el. Expone por target:
+ *   - gateway.concurrency.limit     limite actual
+ *   - gateway.concurrency.inflight  requests en vuelo
+ *   - gateway.concurrency.rejected  503 por limite alcanzado
+ */
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimiters {
+
+    private final MeterRegistry registry;
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+    @Value("${saas.gateway.concurrency.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${saas.gateway.concurrency.min-limit:4}")
+    private int minLimit;
+
+    @Value("${saas.gateway.concurrency.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${saas.gateway.concurrency.tolerance:1.5}")
+    private double tolerance;
+
+    @Value("${saas.gateway.concurrency.smoothing:0.2}")
+    private double smoothing;
+
+    /** Limite y contador de rechazos de un downstream. */
+    public record Target(GradientLimit limit, Counter rejected) {}
+
+    public Target forTarget(String target) {
+        return targets.computeIfAbsent(target, this::create);
+    }
+
+    private Target create(String target) {
+        GradientLimit limit = new GradientLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing);
+        Gauge.builder("gateway.concurrency.limit", limit, GradientLimit::getLimit)
+                .description("Limite adaptativo de concurrencia hacia el downstream")
+                .tag("target", target)
+                .register(registry);
+        Gauge.builder("gateway.concurrency.inflight", limit, GradientLimit::getInflight)
+                .description("Requests en vuelo hacia el downstream")
+                .tag("target", target)
+                .register(registry);
+        Counter rejected = Counter.builder("gateway.concurrency.rejected")
+                .description("Requests rechazados con 503 por limite de concurrencia")
+                .tag("target", target)
+                .register(registry);
+        return new Target(limit, rejected);
+    }
+}
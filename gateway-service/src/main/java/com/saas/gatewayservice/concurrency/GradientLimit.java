@@ -0,0 +1,96 @@
+package com.saas.gatewayservice.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concurrencia adaptativo para UN downstream, estilo gradient
+ * (Netflix Gradient2 / TCP Vegas): compara la latencia reciente contra una
+ * media de largo plazo.
+ *
+ *   gradient = clamp(tolerance * rttLargo / rttMuestra, 0.5, 1.0)
+ *   nuevo    = limite * gradient + sqrt(limite)
+ *   limite   = limite * (1 - smoothing) + nuevo * smoothing
+ *
+ * Si la latencia sube (cola formandose en el downstream) el gradiente cae
+ * bajo 1 y el limite baja; si se mantiene, el termino sqrt hace crecer el
+ * limite de a poco. Errores/timeouts recortan el limite multiplicativamente.
+ * Solo crece si de verdad se esta usando (inflight >= limite / 2), para no
+ * inflar el limite en horas valle.
+ */
+public class GradientLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    /** EMA de largo plazo ~ ultimas 600 muestras. */
+    private static final double LONG_WINDOW_ALPHA = 2.0 / 601;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+    private double longRttNanos;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = initialLimit;
+    }
+
+    /** Reserva un cupo; false si el downstream ya esta en su limite. */
+    public boolean tryAcquire() {
+        if (inflight.incrementAndGet() > (int) limit) {
+            inflight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /** Libera el cupo sin muestra (cancelado por el cliente: no dice nada del downstream). */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    /** Libera el cupo y ajusta el limite con la latencia observada. */
+    public void release(long rttNanos, boolean dropped) {
+        int inflightAtEnd = inflight.getAndDecrement();
+        onSample(rttNanos, inflightAtEnd, dropped);
+    }
+
+    private synchronized void onSample(long rttNanos, int inflightAtEnd, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            return;
+        }
+        if (rttNanos <= 0) return;
+
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) * LONG_WINDOW_ALPHA;
+        }
+        // Tras un pico largo la media queda inflada: se deja decaer para que no
+        // justifique latencias altas como "normales".
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        if (inflightAtEnd < limit / 2) return;
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+        double next = limit * gradient + Math.sqrt(limit);
+        next = limit * (1 - smoothing) + next * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
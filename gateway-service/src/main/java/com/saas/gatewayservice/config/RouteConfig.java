@@ -1,13 +1,17 @@
 package com.saas.gatewayservice.config;
 
+import com.saas.gatewayservice.filter.CoalesceGatewayFilterFactory;
+import com.saas.gatewayservice.filter.ConcurrencyLimitGatewayFilterFactory;
+import com.saas.gatewayservice.ratelimit.LeasingRateLimiter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
-import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 
 /**
  * Rutas explicitas. Estandar: el path arranca con el nombre del microservicio,
@@ -18,6 +22,13 @@ import org.springframework.context.annotation.Primary;
  *   POST /auth/login              -> auth-service     (rate-limit estricto, key=IP)
  *   /auth/**                       -> auth-service     (rate-limit normal, key=user)
  *   /system/**                     -> system-service   (rate-limit normal, key=user)
+ *
+ * Las rutas de lectura intensiva (system, search, business) llevan ademas
+ * {@link CoalesceGatewayFilterFactory}: GETs identicos concurrentes comparten
+ * un solo viaje al downstream.
+ *
+ * Todas llevan {@link ConcurrencyLimitGatewayFilterFactory}: limite de
+ * concurrencia adaptativo por downstream con 503 rapido al saturarse.
  */
 @Configuration
 public class RouteConfig {
@@ -43,11 +54,20 @@ public class RouteConfig {
     @Value("${saas.gateway.services.finance-uri:lb://finance-service}")
     private String financeUri;
 
+    @Value("${saas.gateway.rate-limit.lease-ms:500}")
+    private long rateLimitLeaseMs;
+
+    /**
+     * Los limiters son {@link LeasingRateLimiter}: bucket cluster-wide en Redis
+     * pero arrendado por lotes, asi la mayoria de requests se decide en memoria.
+     * Con la tasa del login (2/s) el lote es de 1 token: limite exacto.
+     */
     @Bean("loginRateLimiter")
-    public RedisRateLimiter loginRateLimiter(
+    public LeasingRateLimiter loginRateLimiter(
+            ReactiveStringRedisTemplate redis,
             @Value("${saas.gateway.rate-limit.login.replenish-rate:2}") int replenish,
             @Value("${saas.gateway.rate-limit.login.burst-capacity:5}") int burst) {
-        return new RedisRateLimiter(replenish, burst, 1);
+        return new LeasingRateLimiter(redis, replenish, burst, rateLimitLeaseMs);
     }
 
     /**
@@ -58,67 +78,93 @@ public class RouteConfig {
      */
     @Bean("defaultRateLimiter")
     @Primary
-    public RedisRateLimiter defaultRateLimiter(
+    public LeasingRateLimiter defaultRateLimiter(
+            ReactiveStringRedisTemplate redis,
             @Value("${saas.gateway.rate-limit.default.replenish-rate:20}") int replenish,
             @Value("${saas.gateway.rate-limit.default.burst-capacity:40}") int burst) {
-        return new RedisRateLimiter(replenish, burst, 1);
+        return new LeasingRateLimiter(redis, replenish, burst, rateLimitLeaseMs);
     }
 
     @Bean
     public RouteLocator routes(RouteLocatorBuilder builder,
-                               RedisRateLimiter loginRateLimiter,
-                               RedisRateLimiter defaultRateLimiter,
+                               LeasingRateLimiter loginRateLimiter,
+                               LeasingRateLimiter defaultRateLimiter,
                                KeyResolver ipKeyResolver,
-                               KeyResolver userKeyResolver) {
+                               KeyResolver userKeyResolver,
+                               CoalesceGatewayFilterFactory coalesce,
+                               ConcurrencyLimitGatewayFilterFactory concurrencyLimit) {
+
+        GatewayFilter coalescing = coalesce.apply(new CoalesceGatewayFilterFactory.Config());
+        // Un limite por URI de ruta: auth-login y auth comparten el de auth-service.
+        GatewayFilter shedding = concurrencyLimit.apply(new ConcurrencyLimitGatewayFilterFactory.Config());
 
         return builder.routes()
                 .route("auth-login", r -> r
                         .path("/auth/login")
-                        .filters(f -> f.requestRateLimiter(c -> c
-                                .setRateLimiter(loginRateLimiter)
-                                .setKeyResolver(ipKeyResolver)))
+                        .filters(f -> f
+                                .requestRateLimiter(c -> c
+                                        .setRateLimiter(loginRateLimiter)
+                                        .setKeyResolver(ipKeyResolver))
+                                .filter(shedding, ConcurrencyLimitGatewayFilterFactory.ORDER))
                         .uri(authUri))
                 .route("auth", r -> r
                         .path("/auth/**")
-                        .filters(f -> f.requestRateLimiter(c -> c
-                                .setRateLimiter(defaultRateLimiter)
-                                .setKeyResolver(userKeyResolver)))
+                        .filters(f -> f
+                                .requestRateLimiter(c -> c
+                                        .setRateLimiter(defaultRateLimiter)
+                                        .setKeyResolver(userKeyResolver))
+                                .filter(shedding, ConcurrencyLimitGatewayFilterFactory.ORDER))
                         .uri(authUri))
                 .route("system", r -> r
                         .path("/system/**")
-                        .filters(f -> f.requestRateLimiter(c -> c
-                                .setRateLimiter(defaultRateLimiter)
-                                .setKeyResolver(userKeyResolver)))
+                        .filters(f -> f
+                                .filter(coalescing, CoalesceGatewayFilterFactory.ORDER)
+                                .requestRateLimiter(c -> c
+                                        .setRateLimiter(defaultRateLimiter)
+                                        .setKeyResolver(userKeyResolver))
+                                .filter(shedding, ConcurrencyLimitGatewayFilterFactory.ORDER))
                         .uri(systemUri))
                 .route("search", r -> r
                         .path("/search/**")
-                        .filters(f -> f.requestRateLimiter(c -> c
-                                .setRateLimiter(defaultRateLimiter)
-                                .setKeyResolver(userKeyResolver)))
+                        .filters(f -> f
+                                .filter(coalescing, CoalesceGatewayFilterFactory.ORDER)
+                                .requestRateLimiter(c -> c
+                                        .setRateLimiter(defaultRateLimiter)
+                                        .setKeyResolver(userKeyResolver))
+                                .filter(shedding, ConcurrencyLimitGatewayFilterFactory.ORDER))
                         .uri(searchUri))
                 .route("business", r -> r
                         .path("/business/**")
-                        .filters(f -> f.requestRateLimiter(c -> c
-                                .setRateLimiter(defaultRateLimiter)
-                                .setKeyResolver(userKeyResolver)))
+                        .filters(f -> f
+                                .filter(coalescing, CoalesceGatewayFilterFactory.ORDER)
+                                .requestRateLimiter(c -> c
+                                        .setRateLimiter(defaultRateLimiter)
+                                        .setKeyResolver(userKeyResolver))
+                                .filter(shedding, ConcurrencyLimitGatewayFilterFactory.ORDER))
                         .uri(businessUri))
                 .route("audit", r -> r
                         .path("/audit/**")
-                        .filters(f -> f.requestRateLimiter(c -> c
-                                .setRateLimiter(defaultRateLimiter)
-                                .setKeyResolver(userKeyResolver)))
+                        .filters(f -> f
+                                .requestRateLimiter(c -> c
+                                        .setRateLimiter(defaultRateLimiter)
+                                        .setKeyResolver(userKeyResolver))
+                                .filter(shedding, ConcurrencyLimitGatewayFilterFactory.ORDER))
                         .uri(auditUri))
                 .route("thirdparty", r -> r
                         .path("/thirdparty/**")
-                        .filters(f -> f.requestRateLimiter(c -> c
-                                .setRateLimiter(defaultRateLimiter)
-                                .setKeyResolver(userKeyResolver)))
+                        .filters(f -> f
+                                .requestRateLimiter(c -> c
+                                        .setRateLimiter(defaultRateLimiter)
+                                        .setKeyResolver(userKeyResolver))
+                                .filter(shedding, ConcurrencyLimitGatewayFilterFactory.ORDER))
                         .uri(thirdpartyUri))
                 .route("finance", r -> r
                         .path("/finance/**")
-                        .filters(f -> f.requestRateLimiter(c -> c
-                                .setRateLimiter(defaultRateLimiter)
-                                .setKeyResolver(userKeyResolver)))
+                        .filters(f -> f
+                                .requestRateLimiter(c -> c
+                                        .setRateLimiter(defaultRateLimiter)
+                                        .setKeyResolver(userKeyResolver))
+                                .filter(shedding, ConcurrencyLimitGatewayFilterFactory.ORDER))
                         .uri(financeUri))
                 .build();
     }
@@ -0,0 +1,202 @@
+package com.saas.gatewayservice.filter;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight para GETs identicos concurrentes: el primero (lider) va al
+ * downstream y los que llegan mientras esta en vuelo esperan y reciben una
+ * copia de SU respuesta. Tipico: un negocio comparte el link de su landing y
+ * decenas de clientes piden el mismo {@code ?slug=} al mismo tiempo.
+ *
+ * La clave es route + path + query + los headers de identidad configurados
+ * (ya puestos por el AuthenticationFilter, que corre antes) + los que cambian
+ * la representacion (Accept, Accept-Encoding, If-None-Match, Range). Dos
+ * usuarios distintos nunca comparten respuesta en rutas autenticadas.
+ *
+ * No se comparte (cada seguidor va al downstream por su cuenta) si la
+ * respuesta trae Set-Cookie, no trae Content-Length (chunked/streaming: pasa
+ * tal cual, sin bufferizar), supera {@code max-body-bytes} o el lider falla.
+ * Solo coalesce mientras el lider esta en vuelo: no es una cache.
+ *
+ * Se configura por ruta en {@link com.saas.gatewayservice.config.RouteConfig}
+ * con {@link #ORDER} (antes de {@link NettyWriteResponseFilter}, para poder
+ * decorar la respuesta).
+ */
+@Slf4j
+@Component
+public class CoalesceGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<CoalesceGatewayFilterFactory.Config> {
+
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private static final List<String> REPRESENTATION_HEADERS = List.of(
+            HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.IF_NONE_MATCH, HttpHeaders.RANGE);
+
+    /** Headers del lider que no se copian a los seguidores (hop-by-hop o ya propios de cada respuesta: CORS). */
+    private static final Set<String> NOT_SHARED = Set.of(
+            "date", "content-length", "transfer-encoding", "connection", "keep-alive");
+
+    private final Map<String, CompletableFuture<Shared>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${saas.gateway.coalescing.max-body-bytes:1048576}")
+    private int maxBodyBytes;
+
+    public CoalesceGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        /** Headers que identifican a quien pide; forman parte de la clave. */
+        private List<String> identityHeaders = List.of("X-User-Id", "X-User-Roles", "X-Business-Id");
+    }
+
+    /** Respuesta del lider, congelada para repartir. */
+    private record Shared(HttpStatusCode status, HttpHeaders headers, byte[] body) {}
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = keyOf(exchange, config);
+            CompletableFuture<Shared> flight = new CompletableFuture<>();
+            CompletableFuture<Shared> leader = inFlight.putIfAbsent(key, flight);
+            if (leader != null) {
+                return Mono.fromFuture(leader)
+                        .flatMap(shared -> write(exchange, shared))
+                        .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+            }
+
+            return chain.filter(exchange.mutate()
+                            .response(new LeaderResponse(exchange.getResponse(), key, flight))
+                            .build())
+                    .doFinally(signal -> {
+                        inFlight.remove(key, flight);
+                        // Error/cancel/sin body: los seguidores van al downstream por su cuenta.
+                        flight.complete(null);
+                    });
+        };
+    }
+
+    private static Mono<Void> write(ServerWebExchange exchange, Shared shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().setContentLength(shared.body().length);
+        if (shared.body().length == 0) return response.setComplete();
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private static String keyOf(ServerWebExchange exchange, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        StringBuilder key = new StringBuilder(128)
+                .append(route != null ? route.getId() : "")
+                .append('|').append(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) key.append('?').append(query);
+        HttpHeaders headers = request.getHeaders();
+        for (String name : config.getIdentityHeaders()) {
+            key.append('|').append(headers.getOrEmpty(name));
+        }
+        for (String name : REPRESENTATION_HEADERS) {
+            key.append('|').append(headers.getOrEmpty(name));
+        }
+        return key.toString();
+    }
+
+    private static HttpHeaders sharedCopy(HttpHeaders source) {
+        HttpHeaders copy = new HttpHeaders();
+        source.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (!NOT_SHARED.contains(lower) && !lower.startsWith("access-control-")) {
+                copy.put(name, List.copyOf(values));
+            }
+        });
+        return copy;
+    }
+
+    /** Respuesta del lider: captura el body, lo publica a los seguidores y lo escribe. */
+    private final class LeaderResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final CompletableFuture<Shared> flight;
+
+        LeaderResponse(ServerHttpResponse delegate, String key, CompletableFuture<Shared> flight) {
+            super(delegate);
+            this.key = key;
+            this.flight = flight;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            long length = headers.getContentLength();
+            if (headers.containsKey(HttpHeaders.SET_COOKIE) || length < 0 || length > maxBodyBytes) {
+                release();
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                if (bytes.length <= maxBodyBytes && getStatusCode() != null) {
+                    inFlight.remove(key, flight);
+                    flight.complete(new Shared(getStatusCode(), sharedCopy(headers), bytes));
+                } else {
+                    release();
+                }
+                return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            if (getStatusCode() != null && !getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                inFlight.remove(key, flight);
+                flight.complete(new Shared(getStatusCode(), sharedCopy(getHeaders()), new byte[0]));
+            } else {
+                release();
+            }
+            return super.setComplete();
+        }
+
+        private void release() {
+            inFlight.remove(key, flight);
+            flight.complete(null);
+        }
+    }
+}
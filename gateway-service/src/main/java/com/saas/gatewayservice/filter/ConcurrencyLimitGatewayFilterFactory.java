@@ -0,0 +1,123 @@
+package com.saas.gatewayservice.filter;
+
+import com.saas.gatewayservice.concurrency.ConcurrencyLimiters;
+import com.saas.gatewayservice.concurrency.GradientLimit;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Load shedding por downstream: si el {@link GradientLimit} del target esta
+ * lleno, responde 503 + {@code Retry-After} al instante en vez de encolar.
+ * Asi un servicio lento (p.ej. business esperando Feign a search/thirdparty)
+ * no acapara las conexiones del gateway que necesitan los demas.
+ *
+ * El target es la URI de la ruta ({@code lb://business-service}) salvo que
+ * {@link Config#target} lo sobrescriba. El cupo se libera y la latencia se
+ * mide cuando el downstream entrega los headers (commit de la respuesta), no
+ * al terminar de escribir el cuerpo: una descarga lenta del cliente (APK por
+ * red movil) no ocupa cupo ni infla el RTT del limite. 502/503/504 o error
+ * cuentan como caida.
+ *
+ * Se aplica por ruta en {@link com.saas.gatewayservice.config.RouteConfig}
+ * con {@link #ORDER}: despues del rate limiter (lo ya rechazado por cuota no
+ * consume cupo).
+ */
+@Component
+public class ConcurrencyLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ConcurrencyLimitGatewayFilterFactory.Config> {
+
+    public static final int ORDER = 1;
+
+    private final ConcurrencyLimiters limiters;
+
+    @Value("${saas.gateway.concurrency.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    public ConcurrencyLimitGatewayFilterFactory(ConcurrencyLimiters limiters) {
+        super(Config.class);
+        this.limiters = limiters;
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        /** Nombre del limite; por defecto la URI de la ruta. */
+        private String target;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ConcurrencyLimiters.Target target = limiters.forTarget(targetOf(exchange, config));
+            GradientLimit limit = target.limit();
+            if (!limit.tryAcquire()) {
+                target.rejected().increment();
+                return reject(exchange);
+            }
+            long start = System.nanoTime();
+            AtomicBoolean released = new AtomicBoolean();
+            AtomicBoolean failed = new AtomicBoolean();
+            exchange.getResponse().beforeCommit(() -> {
+                if (released.compareAndSet(false, true)) {
+                    boolean dropped = failed.get() || isOverload(exchange.getResponse().getStatusCode());
+                    limit.release(System.nanoTime() - start, dropped);
+                }
+                return Mono.empty();
+            });
+            return chain.filter(exchange)
+                    .doOnError(ex -> failed.set(true))
+                    .doFinally(signal -> {
+                        // Solo si nunca hubo commit (cancelacion, error sin respuesta).
+                        if (!released.compareAndSet(false, true)) return;
+                        if (signal == SignalType.CANCEL) {
+                            limit.release();
+                            return;
+                        }
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        boolean dropped = signal == SignalType.ON_ERROR || isOverload(status);
+                        limit.release(System.nanoTime() - start, dropped);
+                    });
+        };
+    }
+
+    private static String targetOf(ServerWebExchange exchange, Config config) {
+        if (config.getTarget() != null) return config.getTarget();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getUri().toString() : "unknown";
+    }
+
+    private static boolean isOverload(HttpStatusCode status) {
+        return status != null && (status.value() == 502 || status.value() == 503 || status.value() == 504);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds));
+
+        String body = String.format(
+                "{\"success\":false,\"status\":503,\"message\":\"Servicio saturado, reintente en %ds\",\"path\":\"%s\",\"timestamp\":\"%s\"}",
+                retryAfterSeconds, exchange.getRequest().getURI().getPath(), Instant.now());
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+    }
+}
@@ -0,0 +1,216 @@
+package com.saas.gatewayservice.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limiter token-bucket HIBRIDO: decide en memoria local y reconcilia con
+ * Redis por lotes.
+ *
+ * El bucket autoritativo (cluster-wide) sigue en Redis, pero en vez de correr
+ * el script por CADA request (como {@code RedisRateLimiter}), cada gateway
+ * arrienda un lote de tokens ({@code chunk}) y los consume localmente sin red.
+ * Cuando el lote baja de 1/4 se pide el siguiente en segundo plano, asi el
+ * request normal no espera a Redis.
+ *
+ *   - chunk = replenishRate * leaseMs / 1000, acotado a [1, burst], es el
+ *     TOPE de un lease. Con tasas bajas (login: 2/s) es 1 y el limite es
+ *     exacto como antes.
+ *   - El tamaño real sigue a la demanda local: una clave nueva u ociosa
+ *     arrienda 1 token; si el lease se agota antes de vencer el siguiente se
+ *     duplica (hasta chunk); si vence con sobrante, el siguiente pide lo que
+ *     realmente se uso.
+ *   - Los tokens arrendados vencen a los {@code leaseMs} y el sobrante se
+ *     DEVUELVE a Redis en el siguiente lease: un cliente lento no quema
+ *     tokens que no uso. El sobre-consumo cluster-wide queda acotado a un
+ *     chunk por instancia.
+ *   - Tras un lease vacio se niega localmente durante el tiempo de reponer un
+ *     token, para no convertir un ataque en un round trip a Redis por request.
+ *   - Si Redis falla se deja pasar (mismo criterio fail-open de RedisRateLimiter).
+ *
+ * Las claves las siguen dando {@code ipKeyResolver}/{@code userKeyResolver};
+ * el bucket es por ruta + clave.
+ */
+@Slf4j
+public class LeasingRateLimiter extends AbstractRateLimiter<LeasingRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "leasing-rate-limiter";
+
+    private static final String KEY_PREFIX = "rl:lease:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LEASE_SCRIPT = leaseScript();
+
+    private final ReactiveStringRedisTemplate redis;
+    private final Config defaultConfig;
+    private final long leaseMillis;
+    private final Cache<String, Bucket> buckets;
+
+    public LeasingRateLimiter(ReactiveStringRedisTemplate redis,
+                              int replenishRate, int burstCapacity, long leaseMillis) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, (ConfigurationService) null);
+        this.redis = redis;
+        this.defaultConfig = new Config();
+        this.defaultConfig.setReplenishRate(replenishRate);
+        this.defaultConfig.setBurstCapacity(burstCapacity);
+        this.leaseMillis = leaseMillis;
+        // Una entrada por ruta+clave activa (IPs incluidas): acotado y con expiracion por inactividad.
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(5))
+                .build();
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        private int replenishRate;
+        private int burstCapacity;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        Bucket bucket = buckets.get(routeId + ":" + id, key -> new Bucket(KEY_PREFIX + "{" + key + "}", config));
+
+        if (bucket.tryTake()) {
+            bucket.prefetchIfLow();
+            return Mono.just(response(true, bucket));
+        }
+        if (bucket.deniedLocally()) {
+            return Mono.just(response(false, bucket));
+        }
+        return bucket.refill().map(granted -> {
+            if (granted < 0) return response(true, bucket); // Redis caido: fail-open
+            return response(bucket.tryTake(), bucket);
+        });
+    }
+
+    private Response response(boolean allowed, Bucket bucket) {
+        return new Response(allowed, Map.of(
+                "X-RateLimit-Remaining", Long.toString(Math.max(0L, bucket.tokens.get())),
+                "X-RateLimit-Replenish-Rate", Integer.toString(bucket.config.getReplenishRate()),
+                "X-RateLimit-Burst-Capacity", Integer.toString(bucket.config.getBurstCapacity()),
+                "X-RateLimit-Requested-Tokens", "1"));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static RedisScript<List> leaseScript() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(
+                new ClassPathResource("META-INF/scripts/lease_rate_limiter.lua")));
+        script.setResultType(List.class);
+        return script;
+    }
+
+    /** Tokens arrendados a ESTA instancia para una ruta+clave. */
+    private final class Bucket {
+
+        final String redisKey;
+        final Config config;
+        final int chunk;
+        final AtomicLong tokens = new AtomicLong();
+        /** Tamaño del ultimo lease pedido (1..chunk). */
+        volatile int size = 1;
+        /** Tokens concedidos en el lease vigente (para medir cuanto se uso). */
+        volatile long leased;
+        volatile long leaseExpiresAt;
+        volatile long deniedUntil;
+        volatile Mono<Long> inFlight;
+
+        Bucket(String redisKey, Config config) {
+            this.redisKey = redisKey;
+            this.config = config;
+            long byRate = (long) Math.ceil(config.getReplenishRate() * leaseMillis / 1000.0);
+            this.chunk = (int) Math.max(1L, Math.min(config.getBurstCapacity(), byRate));
+        }
+
+        boolean tryTake() {
+            // Vencido: el sobrante queda en tokens hasta devolverlo en refill().
+            if (System.currentTimeMillis() > leaseExpiresAt) return false;
+            long current;
+            do {
+                current = tokens.get();
+                if (current <= 0) return false;
+            } while (!tokens.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        boolean deniedLocally() {
+            return System.currentTimeMillis() < deniedUntil;
+        }
+
+        void prefetchIfLow() {
+            if (size > 1 && tokens.get() <= size / 4 && inFlight == null) {
+                refill().subscribe();
+            }
+        }
+
+        /** Pide un lote a Redis; los requests concurrentes comparten el mismo viaje. */
+        Mono<Long> refill() {
+            Mono<Long> current = inFlight;
+            if (current != null) return current;
+            synchronized (this) {
+                if (inFlight != null) return inFlight;
+                long refund = 0;
+                if (System.currentTimeMillis() > leaseExpiresAt) {
+                    refund = Math.max(0L, tokens.getAndSet(0));
+                    // Vencio: pedir lo que de verdad se consumio (minimo 1).
+                    size = (int) Math.max(1L, Math.min(chunk, leased - refund));
+                    leased = 0;
+                } else {
+                    // Se agoto antes de vencer: hay mas demanda que el lease.
+                    size = Math.min(chunk, size * 2);
+                }
+                Mono<Long> lease = redis.execute(LEASE_SCRIPT, List.of(redisKey), List.of(
+                                Integer.toString(config.getReplenishRate()),
+                                Integer.toString(config.getBurstCapacity()),
+                                Integer.toString(size),
+                                Long.toString(refund)))
+                        .next()
+                        .map(result -> ((Number) result.get(0)).longValue())
+                        .doOnNext(this::accept)
+                        .onErrorResume(ex -> {
+                            log.warn("Lease de rate limit fallo, dejando pasar: {}", ex.getMessage());
+                            return Mono.just(-1L);
+                        })
+                        .doFinally(signal -> inFlight = null)
+                        .cache();
+                inFlight = lease;
+                return lease;
+            }
+        }
+
+        private void accept(long granted) {
+            long now = System.currentTimeMillis();
+            if (granted == 0) {
+                deniedUntil = now + Math.min(leaseMillis, 1000L / Math.max(1, config.getReplenishRate()));
+                return;
+            }
+            if (now > leaseExpiresAt) {
+                tokens.set(granted);
+                leased = granted;
+            } else {
+                tokens.addAndGet(granted);
+                leased += granted;
+            }
+            leaseExpiresAt = now + leaseMillis;
+        }
+    }
+}
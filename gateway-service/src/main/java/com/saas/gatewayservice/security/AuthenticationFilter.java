@@ -1,11 +1,11 @@
 package com.saas.gatewayservice.security;
 
 import com.saas.gatewayservice.model.HttpHeaders;
-import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
 import org.springframework.core.Ordered;
 import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.http.HttpStatus;
@@ -17,14 +17,15 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
-import java.util.List;
 
 /**
  * Filtro global que:
  *   1. Detecta rutas publicas (skip).
- *   2. Valida el JWT firma + expiracion.
- *   3. Verifica blacklist de tokens en Redis (logout). En Phase 7 se publica
- *      el accessToken al hacer logout; aqui ya queda cableada la verificacion.
+ *   2. Valida el JWT firma + expiracion ({@link VerifiedTokenCache}: un token
+ *      ya verificado no se vuelve a parsear hasta su exp).
+ *   3. Verifica que el token no este revocado (logout) contra la replica local
+ *      {@link RevokedTokenSet}; solo consulta Redis mientras esa replica no
+ *      esta sincronizada.
  *   4. Inyecta {@code X-User-Id}, {@code X-User-Username}, {@code X-User-Roles}
  *      al request forwarded para que los microservicios downstream confien
  *      en la identidad sin re-validar firma.
@@ -34,9 +35,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AuthenticationFilter implements GlobalFilter, Ordered {
 
-    public static final String BLACKLIST_KEY_PREFIX = "jwt:blacklist:";
-
-    private final JwtValidator jwt;
+    private final VerifiedTokenCache tokens;
+    private final RevokedTokenSet revoked;
     private final RouteValidator routes;
     private final ReactiveStringRedisTemplate redis;
 
@@ -54,19 +54,28 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
         }
 
         String token = header.substring(7);
-        Claims claims = jwt.parse(token).orElse(null);
-        if (claims == null) {
+        VerifiedIdentity identity = tokens.resolve(token).orElse(null);
+        if (identity == null) {
             return reject(exchange, "Token invalido o expirado", HttpStatus.UNAUTHORIZED);
         }
 
-        return redis.hasKey(BLACKLIST_KEY_PREFIX + token)
-                .defaultIfEmpty(Boolean.FALSE)
+        if (revoked.contains(identity)) {
+            return reject(exchange, "Token revocado", HttpStatus.UNAUTHORIZED);
+        }
+        if (revoked.isSynced()) {
+            return chain.filter(exchange.mutate()
+                    .request(forwardWithIdentity(request, identity))
+                    .build());
+        }
+
+        return redis.countExistingKeys(revoked.keysOf(identity, token))
+                .defaultIfEmpty(0L)
                 .flatMap(blacklisted -> {
-                    if (Boolean.TRUE.equals(blacklisted)) {
+                    if (blacklisted > 0) {
                         return reject(exchange, "Token revocado", HttpStatus.UNAUTHORIZED);
                     }
                     return chain.filter(exchange.mutate()
-                            .request(forwardWithIdentity(request, claims))
+                            .request(forwardWithIdentity(request, identity))
                             .build());
                 })
                 .onErrorResume(ex -> {
@@ -74,30 +83,23 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
                     // (alternativa: rechazar todo). Logueamos y dejamos pasar.
                     log.warn("Redis blacklist check fallo, dejando pasar token valido: {}", ex.getMessage());
                     return chain.filter(exchange.mutate()
-                            .request(forwardWithIdentity(request, claims))
+                            .request(forwardWithIdentity(request, identity))
                             .build());
                 });
     }
 
-    private ServerHttpRequest forwardWithIdentity(ServerHttpRequest req, Claims claims) {
-        String userId = claims.getSubject();
-        String username = claims.get("username", String.class);
-        @SuppressWarnings("unchecked")
-        List<String> roles = claims.get("roles", List.class);
-        String rolesCsv = roles == null ? "" : String.join(",", roles);
-        String businessId = claims.get("businessId", String.class);
-
+    private ServerHttpRequest forwardWithIdentity(ServerHttpRequest req, VerifiedIdentity identity) {
         ServerHttpRequest.Builder builder = req.mutate()
-                .header("X-User-Id", userId == null ? "" : userId)
-                .header("X-User-Username", username == null ? "" : username)
-                .header("X-User-Roles", rolesCsv)
+                .header("X-User-Id", identity.userId())
+                .header("X-User-Username", identity.username())
+                .header("X-User-Roles", identity.rolesCsv())
                 // Anti-spoof: descartamos cualquier X-Business-Id entrante; solo vale
                 // el que resolvemos desde el claim confiable del JWT.
                 .headers(h -> h.remove("X-Business-Id"));
         // El businessId del dueño viaja como header para que downstream lo selle
         // en eventos/auditoria sin lookup. Ausente para admins o dueños sin negocio.
-        if (businessId != null && !businessId.isBlank()) {
-            builder.header("X-Business-Id", businessId);
+        if (identity.businessId() != null) {
+            builder.header("X-Business-Id", identity.businessId());
         }
         return builder.build();
     }
@@ -116,8 +118,13 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
         return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
     }
 
+    /**
+     * Antes que los filtros que decoran la respuesta (cache de borde, coalescing,
+     * orden {@code NettyWriteResponseFilter - 1}): el coalescing arma su clave con
+     * los headers de identidad que se inyectan aqui.
+     */
     @Override
     public int getOrder() {
-        return -1;
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
     }
 }
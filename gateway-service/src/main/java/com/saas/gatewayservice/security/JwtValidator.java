@@ -2,6 +2,7 @@ package com.saas.gatewayservice.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -16,22 +17,20 @@ import java.util.Optional;
 @Component
 public class JwtValidator {
 
-    private final SecretKey key;
+    /** El parser es inmutable y thread-safe: se construye una sola vez. */
+    private final JwtParser parser;
 
     public JwtValidator(@Value("${jwt.secret}") String secret) {
         if (secret == null || secret.length() < 32) {
             throw new IllegalArgumentException("jwt.secret debe tener al menos 32 caracteres");
         }
-        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
     }
 
     public Optional<Claims> parse(String token) {
         try {
-            return Optional.of(Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload());
+            return Optional.of(parser.parseSignedClaims(token).getPayload());
         } catch (JwtException | IllegalArgumentException ex) {
             log.debug("JWT invalido: {}", ex.getMessage());
             return Optional.empty();
@@ -0,0 +1,181 @@
+package com.saas.gatewayservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replica local de los access tokens revocados (logout), para no pagar un
+ * round trip a Redis en cada request autenticado.
+ *
+ * auth-service ({@code JwtBlacklistService}) es el unico escritor: guarda
+ * {@code jwt:revoked:<id>} = exp (epoch millis) con TTL y publica
+ * {@code <id>|<exp>} en el canal {@link #CHANNEL}. Aqui:
+ *   - Nos suscribimos al canal y agregamos cada revocacion al set local.
+ *   - Al (re)conectar y cada {@code resync-ms} hacemos SCAN de las claves para
+ *     cubrir mensajes perdidos (pub/sub no tiene replay).
+ *   - Cada entrada vence en el exp del token: el set solo contiene tokens que
+ *     aun serian validos, asi que su tamaño lo acota la cantidad de logouts
+ *     dentro de un TTL de access token. Sin tope de tamaño a proposito: una
+ *     eviccion por tamaño dejaria pasar un token revocado.
+ *
+ * Transicion ({@code saas.gateway.revocation.legacy-keys=true}): el SCAN
+ * tambien lee las claves viejas {@code jwt:blacklist:<token>} (logouts previos
+ * al deploy o de un auth-service aun sin actualizar) y las guarda por digest
+ * del token, que vence con el TTL de la clave. Sin canal para esas: las de un
+ * auth-service viejo se ven en el siguiente resync.
+ *
+ * Mientras no hay sincronizacion ({@link #isSynced()} false: arranque o Redis
+ * caido) el filtro vuelve a consultar Redis por request, como antes.
+ */
+@Slf4j
+@Component
+public class RevokedTokenSet {
+
+    /** Coincide con {@code JwtBlacklistService.PREFIX} de auth-service. */
+    public static final String PREFIX = "jwt:revoked:";
+    /** Coincide con {@code JwtBlacklistService.CHANNEL} de auth-service. */
+    public static final String CHANNEL = "jwt:revocations";
+    /** Clave previa de auth-service (token completo); solo durante la transicion. */
+    public static final String LEGACY_PREFIX = "jwt:blacklist:";
+
+    private final ReactiveStringRedisTemplate redis;
+    private final Duration resyncPeriod;
+    private final boolean legacyKeys;
+    private final Cache<String, Long> revoked = Caffeine.newBuilder()
+            .expireAfter(new Expiry<String, Long>() {
+                @Override
+                public long expireAfterCreate(String id, Long expMillis, long currentTime) {
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, expMillis - System.currentTimeMillis()));
+                }
+
+                @Override
+                public long expireAfterUpdate(String id, Long expMillis, long currentTime, long currentDuration) {
+                    return expireAfterCreate(id, expMillis, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String id, Long expMillis, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    private volatile boolean synced;
+    private Disposable subscription;
+
+    public RevokedTokenSet(ReactiveStringRedisTemplate redis,
+                           @Value("${saas.gateway.revocation.resync-ms:60000}") long resyncMs,
+                           @Value("${saas.gateway.revocation.legacy-keys:true}") boolean legacyKeys) {
+        this.redis = redis;
+        this.resyncPeriod = Duration.ofMillis(resyncMs);
+        this.legacyKeys = legacyKeys;
+    }
+
+    @PostConstruct
+    void start() {
+        Mono<Void> messages = redis.listenToChannel(CHANNEL)
+                .doOnNext(message -> accept(message.getMessage()))
+                .then(Mono.error(new IllegalStateException("Canal " + CHANNEL + " cerrado")));
+        Mono<Void> resyncs = Flux.interval(Duration.ZERO, resyncPeriod)
+                .concatMap(tick -> resync())
+                .then();
+
+        subscription = Flux.merge(messages, resyncs)
+                .then()
+                .doOnError(ex -> {
+                    synced = false;
+                    log.warn("Sincronizacion de tokens revocados interrumpida, se consulta Redis por request: {}",
+                            ex.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) subscription.dispose();
+    }
+
+    public boolean contains(VerifiedIdentity identity) {
+        return revoked.getIfPresent(identity.revocationId()) != null
+                || (legacyKeys && revoked.getIfPresent(identity.digest()) != null);
+    }
+
+    /** Claves Redis que marcan revocado a {@code identity} (consulta directa sin replica). */
+    public List<String> keysOf(VerifiedIdentity identity, String token) {
+        return legacyKeys
+                ? List.of(PREFIX + identity.revocationId(), LEGACY_PREFIX + token)
+                : List.of(PREFIX + identity.revocationId());
+    }
+
+    /** true si el set local refleja Redis (suscrito + al menos un SCAN completo). */
+    public boolean isSynced() {
+        return synced;
+    }
+
+    private Mono<Void> resync() {
+        ScanOptions options = ScanOptions.scanOptions().match(PREFIX + "*").count(1000).build();
+        return redis.scan(options)
+                .buffer(500)
+                .concatMap(keys -> redis.opsForValue().multiGet(keys)
+                        .doOnNext(values -> load(keys, values)))
+                .then(resyncLegacy())
+                .then(Mono.fromRunnable(() -> {
+                    if (!synced) log.info("Tokens revocados sincronizados ({} activos)", revoked.estimatedSize());
+                    synced = true;
+                }));
+    }
+
+    private Mono<Void> resyncLegacy() {
+        if (!legacyKeys) return Mono.empty();
+        ScanOptions options = ScanOptions.scanOptions().match(LEGACY_PREFIX + "*").count(1000).build();
+        return redis.scan(options)
+                .flatMap(key -> redis.getExpire(key)
+                        .filter(ttl -> !ttl.isZero() && !ttl.isNegative())
+                        .doOnNext(ttl -> revoked.put(
+                                VerifiedTokenCache.digest(key.substring(LEGACY_PREFIX.length())),
+                                System.currentTimeMillis() + ttl.toMillis())), 16)
+                .then();
+    }
+
+    private void load(List<String> keys, List<String> values) {
+        for (int i = 0; i < keys.size(); i++) {
+            String value = values.get(i);
+            if (value != null) add(keys.get(i).substring(PREFIX.length()), value);
+        }
+    }
+
+    /** Mensaje del canal: {@code <id>|<expEpochMillis>}. */
+    private void accept(String message) {
+        int sep = message.lastIndexOf('|');
+        if (sep <= 0) {
+            log.warn("Mensaje de revocacion invalido: {}", message);
+            return;
+        }
+        add(message.substring(0, sep), message.substring(sep + 1));
+    }
+
+    private void add(String id, String expMillis) {
+        try {
+            revoked.put(id, Long.parseLong(expMillis));
+        } catch (NumberFormatException ex) {
+            log.warn("Exp invalido para revocacion {}: {}", id, expMillis);
+        }
+    }
+}
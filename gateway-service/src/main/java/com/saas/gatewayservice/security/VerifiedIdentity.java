@@ -0,0 +1,48 @@
+package com.saas.gatewayservice.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Identidad ya verificada de un JWT, con los valores de los headers que el
+ * gateway reenvia downstream PRE-calculados (se construyen una vez por token,
+ * no una vez por request).
+ *
+ * @param digest       SHA-256 del token (clave en {@link VerifiedTokenCache}).
+ * @param revocationId claim {@code jti}, o el digest para tokens sin jti
+ *                     (clave en {@link RevokedTokenSet}).
+ * @param userId       claim {@code sub}; "" si no viene.
+ * @param username     claim {@code username}; "" si no viene.
+ * @param rolesCsv     claim {@code roles} unido por comas.
+ * @param businessId   claim {@code businessId}; null si no viene.
+ * @param expiresAt    claim {@code exp}: la entrada de cache vence exactamente ahi.
+ */
+public record VerifiedIdentity(
+        String digest,
+        String revocationId,
+        String userId,
+        String username,
+        String rolesCsv,
+        String businessId,
+        Instant expiresAt
+) {
+
+    static VerifiedIdentity from(String digest, Claims claims) {
+        String userId = claims.getSubject();
+        String username = claims.get("username", String.class);
+        @SuppressWarnings("unchecked")
+        List<String> roles = claims.get("roles", List.class);
+        String businessId = claims.get("businessId", String.class);
+        String jti = claims.getId();
+        return new VerifiedIdentity(
+                digest,
+                jti == null || jti.isBlank() ? digest : jti,
+                userId == null ? "" : userId,
+                username == null ? "" : username,
+                roles == null ? "" : String.join(",", roles),
+                businessId == null || businessId.isBlank() ? null : businessId,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : Instant.now());
+    }
+}
@@ -0,0 +1,86 @@
+package com.saas.gatewayservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Cache en memoria de JWTs ya verificados.
+ *
+ * Un usuario activo del APK manda el MISMO token cientos de veces por hora;
+ * sin cache cada request paga verificacion HMAC + decode de claims
+ * ({@link JwtValidator#parse}). Aqui la clave es el SHA-256 del token (no el
+ * token en claro) y el valor la {@link VerifiedIdentity} con los headers ya
+ * armados. Cada entrada expira exactamente en el {@code exp} del token, asi
+ * que un token vencido nunca se sirve desde cache.
+ *
+ * Solo se cachean tokens VALIDOS: uno invalido siempre pasa por el parser.
+ * La revocacion (logout) se verifica aparte en cada request, con o sin hit.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtValidator jwt;
+    private final Cache<String, VerifiedIdentity> cache;
+
+    public VerifiedTokenCache(JwtValidator jwt,
+                              @Value("${saas.gateway.jwt-cache.max-size:50000}") long maxSize) {
+        this.jwt = jwt;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedIdentity>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedIdentity value, long currentTime) {
+                        return Math.max(0L, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedIdentity value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedIdentity value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /** Identidad verificada del token: desde cache o parseando (y cacheando) si es valido. */
+    public Optional<VerifiedIdentity> resolve(String token) {
+        String digest = digest(token);
+        VerifiedIdentity hit = cache.getIfPresent(digest);
+        if (hit != null) return Optional.of(hit);
+
+        return jwt.parse(token).map(claims -> {
+            VerifiedIdentity identity = VerifiedIdentity.from(digest, claims);
+            if (identity.expiresAt().isAfter(Instant.now())) {
+                cache.put(digest, identity);
+            }
+            return identity;
+        });
+    }
+
+    /** SHA-256 hex del token. */
+    static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+}
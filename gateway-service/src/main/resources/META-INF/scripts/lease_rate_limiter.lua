@@ -0,0 +1,34 @@
+-- Token bucket compartido del LeasingRateLimiter: entrega HASTA ARGV[3]
+-- tokens (un "lease") en vez de decidir 1 request. Concede parcial si no hay
+-- suficientes; 0 = sin tokens.
+--   KEYS[1]  hash del bucket (tokens, ts)
+--   ARGV[1]  replenish rate (tokens/seg)
+--   ARGV[2]  burst capacity
+--   ARGV[3]  tokens pedidos
+--   ARGV[4]  tokens devueltos (sobrante de un lease vencido de la instancia)
+-- Retorna { concedidos, restantes }.
+local key = KEYS[1]
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local wanted = tonumber(ARGV[3])
+local refund = tonumber(ARGV[4]) or 0
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', key, 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+  tokens = capacity
+  ts = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000 + refund)
+local granted = math.min(wanted, math.floor(tokens))
+tokens = tokens - granted
+
+redis.call('HSET', key, 'tokens', tokens, 'ts', now)
+redis.call('PEXPIRE', key, math.ceil(capacity * 2000 / rate))
+
+return { granted, math.floor(tokens) }
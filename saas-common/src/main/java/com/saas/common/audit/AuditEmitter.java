@@ -1,13 +1,12 @@
 package com.saas.common.audit;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.saas.common.events.EventTypes;
 import com.saas.common.outbox.OutboxPublisher;
 import com.saas.common.security.IUserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,16 +14,22 @@ import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
  * Emite el evento dedicado de auditoria ({@code audit.recorded}) al outbox.
  *
  * - Se sella el actor automaticamente desde el JWT (SecurityContext).
- * - Calcula los campos cambiados (diff de primer nivel) en UPDATE/TOGGLE.
+ * - Calcula los campos cambiados (diff de primer nivel) en UPDATE/TOGGLE
+ *   sobre los valores de las propiedades ({@link AuditSchema}): los escalares
+ *   se comparan directo; solo lo anidado pasa por un arbol Jackson.
+ * - Payload DELTA por defecto: en UPDATE/TOGGLE before/after llevan SOLO los
+ *   campos cambiados ({@code delta=true}); en DELETE el before completo. Con
+ *   {@code saas.audit.full-snapshots=true} se envian las fotos completas.
  * - El payload es auto-contenido (before/after/actor): el audit-service no
  *   necesita llamar a nadie mas.
  *
@@ -39,23 +44,32 @@ public class AuditEmitter {
     private final OutboxPublisher outbox;
     private final ObjectMapper mapper;
 
-    /** Campos nunca auditados (defensa contra fuga de secretos). Comparacion case-insensitive. */
-    private static final Set<String> REDACTED = Set.of(
-            "password", "passwordhash", "password_hash", "pwd", "hash",
-            "secret", "salt", "token", "accesstoken", "refreshtoken",
-            "access_token", "refresh_token", "apikey", "api_key"
-    );
-    private static final String MASK = "***";
+    /** Un {@link AuditSchema} por clase auditada, construido con el mapper de la app. */
+    private final ClassValue<AuditSchema> schemas = new ClassValue<>() {
+        @Override
+        protected AuditSchema computeValue(Class<?> type) {
+            return new AuditSchema(type, mapper);
+        }
+    };
+
+    @Value("${saas.audit.full-snapshots:false}")
+    private boolean fullSnapshots;
 
     /**
-     * Captura un snapshot JSON inmutable de un objeto de dominio. Necesario en
+     * Captura un snapshot inmutable de un objeto de dominio. Necesario en
      * UPDATE porque el servicio base muta la entidad existente en sitio antes
      * de persistir (el "before" se perderia si no se congela aqui).
      */
-    public JsonNode snapshot(Object o) {
-        return o == null ? null : mapper.valueToTree(o);
+    public AuditSnapshot snapshot(Object o) {
+        if (o == null) return null;
+        AuditSchema schema = schemas.get(o.getClass());
+        return new AuditSnapshot(schema, schema.read(o));
     }
 
+    /**
+     * @param before {@link AuditSnapshot} ya congelado, objeto de dominio o null.
+     * @param after  objeto de dominio (o snapshot) posterior, null en DELETE.
+     */
     public void emit(AuditAction action,
                      String aggregateType,
                      UUID aggregateId,
@@ -63,12 +77,25 @@ public class AuditEmitter {
                      Object before,
                      Object after) {
         try {
-            JsonNode beforeNode = redact(before == null ? null : mapper.valueToTree(before));
-            JsonNode afterNode  = redact(after  == null ? null : mapper.valueToTree(after));
-
-            List<String> changed = (action == AuditAction.UPDATE || action == AuditAction.TOGGLE)
-                    ? changedFields(beforeNode, afterNode)
-                    : null;
+            AuditSnapshot b = toSnapshot(before);
+            AuditSnapshot a = toSnapshot(after);
+
+            boolean diffable = action == AuditAction.UPDATE || action == AuditAction.TOGGLE;
+            List<String> changed = null;
+            Map<String, Object> beforeOut;
+            Map<String, Object> afterOut;
+
+            if (diffable && a != null) {
+                changed = new ArrayList<>();
+                Map<String, Object> beforeDelta = new LinkedHashMap<>();
+                Map<String, Object> afterDelta = new LinkedHashMap<>();
+                diff(b, a, changed, beforeDelta, afterDelta);
+                beforeOut = fullSnapshots ? toMap(b) : beforeDelta;
+                afterOut = fullSnapshots ? a.toMap() : afterDelta;
+            } else {
+                beforeOut = toMap(b);
+                afterOut = toMap(a);
+            }
 
             IUserPrincipal actor = currentActor();
 
@@ -80,9 +107,10 @@ public class AuditEmitter {
                     .actorId(actor != null ? actor.getUserId() : null)
                     .actorName(actor != null ? actor.getUsername() : null)
                     .occurredAt(Instant.now())
-                    .before(beforeNode)
-                    .after(afterNode)
+                    .before(beforeOut)
+                    .after(afterOut)
                     .changedFields(changed)
+                    .delta(diffable && !fullSnapshots ? Boolean.TRUE : null)
                     .build();
 
             outbox.publish(EventTypes.AUDIT_RECORDED, businessId, aggregateType, aggregateId, payload);
@@ -111,45 +139,41 @@ public class AuditEmitter {
         return (p instanceof IUserPrincipal up) ? up : null;
     }
 
-    /** Enmascara recursivamente campos sensibles para que nunca lleguen al log de auditoria. */
-    private JsonNode redact(JsonNode node) {
-        if (node == null || !node.isContainerNode()) return node;
-        if (node.isObject()) {
-            ObjectNode obj = (ObjectNode) node;
-            Iterator<String> it = obj.fieldNames();
-            List<String> toMask = new ArrayList<>();
-            while (it.hasNext()) {
-                String f = it.next();
-                if (REDACTED.contains(f.toLowerCase())) toMask.add(f);
-                else redact(obj.get(f));
-            }
-            for (String f : toMask) obj.put(f, MASK);
-        } else if (node.isArray()) {
-            node.forEach(this::redact);
-        }
-        return node;
+    private AuditSnapshot toSnapshot(Object o) {
+        return o instanceof AuditSnapshot s ? s : snapshot(o);
+    }
+
+    private static Map<String, Object> toMap(AuditSnapshot s) {
+        return s == null ? null : s.toMap();
     }
 
-    /** Diff de claves de primer nivel entre dos objetos JSON. */
-    private List<String> changedFields(JsonNode before, JsonNode after) {
-        List<String> changed = new ArrayList<>();
-        if (after == null || !after.isObject()) return changed;
-        ObjectNode a = (ObjectNode) after;
-        Iterator<String> it = a.fieldNames();
-        while (it.hasNext()) {
-            String field = it.next();
-            JsonNode bv = before != null ? before.get(field) : null;
-            JsonNode av = a.get(field);
-            if (bv == null ? av != null : !bv.equals(av)) changed.add(field);
+    /**
+     * Diff campo a campo. Si before y after son de la misma clase se compara
+     * por posicion (mismo schema); si no, por nombre. Los campos redactados
+     * valen siempre MASK en ambos lados, asi que nunca aparecen como cambiados.
+     */
+    private static void diff(AuditSnapshot before, AuditSnapshot after, List<String> changed,
+                             Map<String, Object> beforeDelta, Map<String, Object> afterDelta) {
+        boolean sameSchema = before != null && before.schema == after.schema;
+        for (int i = 0; i < after.schema.size(); i++) {
+            String field = after.schema.name(i);
+            Object av = after.values[i];
+            Object bv = before == null ? null : sameSchema ? before.values[i] : before.get(field);
+            if (!Objects.deepEquals(bv, av)) {
+                changed.add(field);
+                beforeDelta.put(field, bv);
+                afterDelta.put(field, av);
+            }
         }
-        // Campos que estaban antes y desaparecieron.
-        if (before != null && before.isObject()) {
-            Iterator<String> bit = before.fieldNames();
-            while (bit.hasNext()) {
-                String field = bit.next();
-                if (!a.has(field)) changed.add(field);
+        // Campos que estaban antes y no existen en after (clases distintas).
+        if (before != null && !sameSchema) {
+            for (int i = 0; i < before.schema.size(); i++) {
+                String field = before.schema.name(i);
+                if (after.schema.indexOf(field) < 0 && before.values[i] != null) {
+                    changed.add(field);
+                    beforeDelta.put(field, before.values[i]);
+                }
             }
         }
-        return changed;
     }
 }
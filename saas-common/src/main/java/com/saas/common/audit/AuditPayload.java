@@ -1,7 +1,6 @@
 package com.saas.common.audit;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Builder;
 import lombok.Data;
 
@@ -13,7 +12,8 @@ import java.util.UUID;
  * Payload del evento dedicado de auditoria ({@code audit.recorded}).
  *
  * Es auto-contenido: lleva el actor (resuelto del JWT) y el estado before/after
- * para que el audit-service no dependa de otros servicios. El relay lo enruta
+ * (por defecto solo los campos cambiados) para que el audit-service no dependa
+ * de otros servicios. El relay lo enruta
  * al topic {@code audit.events}.
  */
 @Data
@@ -40,12 +40,18 @@ public class AuditPayload {
     /** Cuando ocurrio el cambio en el dominio. */
     private Instant occurredAt;
 
-    /** Estado anterior (null en CREATE). */
-    private JsonNode before;
+    /**
+     * Estado anterior (null en CREATE). En UPDATE/TOGGLE con {@link #delta}
+     * solo trae los campos cambiados. El consumer lo recibe como mapa JSON.
+     */
+    private Object before;
 
-    /** Estado posterior (null en DELETE). */
-    private JsonNode after;
+    /** Estado posterior (null en DELETE). Mismo criterio delta que {@link #before}. */
+    private Object after;
 
     /** Campos de primer nivel que cambiaron entre before y after (solo UPDATE/TOGGLE). */
     private List<String> changedFields;
+
+    /** {@code true} si before/after traen solo los campos cambiados (no fotos completas). */
+    private Boolean delta;
 }
@@ -0,0 +1,168 @@
+package com.saas.common.audit;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Accesores precompilados de una clase de dominio para auditoria.
+ *
+ * Se construye UNA vez por clase (cache en {@code AuditEmitter}) a partir de
+ * las propiedades que Jackson serializaria ({@link BeanDescription}): mismos
+ * nombres ({@code @JsonProperty}), mismos ignorados ({@code @JsonIgnore} en
+ * campo o getter, {@code @JsonIgnoreProperties}). Por propiedad se resuelve un
+ * {@link MethodHandle} al getter (o al campo si Jackson lo usa directo).
+ *
+ * Los valores escalares (String, numeros, enums, UUID, fechas) se guardan tal
+ * cual. El resto (objetos anidados, colecciones, mapas) se copia POR VALOR a un
+ * arbol Jackson al leer: el servicio base muta la entidad en sitio, y el
+ * "before" no puede compartir referencias con el "after".
+ *
+ * Redaccion: las propiedades sensibles ({@link #REDACTED}) de primer nivel no
+ * se leen (su slot vale siempre {@link #MASK}); dentro de los arboles se
+ * enmascaran recursivamente igual que en objetos, arrays y mapas.
+ */
+final class AuditSchema {
+
+    /** Campos nunca auditados (defensa contra fuga de secretos). Comparacion case-insensitive. */
+    static final Set<String> REDACTED = Set.of(
+            "password", "passwordhash", "password_hash", "pwd", "hash",
+            "secret", "salt", "token", "accesstoken", "refreshtoken",
+            "access_token", "refresh_token", "apikey", "api_key"
+    );
+    static final String MASK = "***";
+
+    /** Firma uniforme (Object)Object para invocar los getters con invokeExact. */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final ObjectMapper mapper;
+    private final String[] names;
+    private final MethodHandle[] getters;
+    private final Map<String, Integer> index = new HashMap<>();
+
+    AuditSchema(Class<?> type, ObjectMapper mapper) {
+        this.mapper = mapper;
+        SerializationConfig config = mapper.getSerializationConfig();
+        BeanDescription bean = config.introspect(config.constructType(type));
+        Set<String> ignored = config.getDefaultPropertyIgnorals(type, bean.getClassInfo())
+                .findIgnoredForSerialization();
+
+        List<String> n = new ArrayList<>();
+        List<MethodHandle> g = new ArrayList<>();
+        for (BeanPropertyDefinition p : bean.findProperties()) {
+            AnnotatedMember accessor = p.getAccessor();
+            if (accessor == null || !p.couldSerialize() || ignored.contains(p.getName())
+                    || p.getRawPrimaryType().isAnnotationPresent(JsonIgnoreType.class)) continue;
+            if (index.containsKey(p.getName())) continue;
+            index.put(p.getName(), n.size());
+            n.add(p.getName());
+            if (isRedacted(p.getName()) || isRedacted(p.getInternalName())) {
+                g.add(null);
+            } else {
+                g.add(getter(type, accessor));
+            }
+        }
+        this.names = n.toArray(String[]::new);
+        this.getters = g.toArray(MethodHandle[]::new);
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    String name(int i) {
+        return names[i];
+    }
+
+    /** Posicion del campo {@code name} o -1 si esta clase no lo tiene. */
+    int indexOf(String name) {
+        Integer i = index.get(name);
+        return i != null ? i : -1;
+    }
+
+    /** Lee todas las propiedades de {@code o}; lo no escalar queda congelado y redactado. */
+    Object[] read(Object o) {
+        Object[] values = new Object[getters.length];
+        for (int i = 0; i < getters.length; i++) {
+            if (getters[i] == null) {
+                values[i] = MASK;
+                continue;
+            }
+            Object v;
+            try {
+                v = (Object) getters[i].invokeExact(o);
+            } catch (Throwable ex) {
+                throw new IllegalStateException("Error leyendo campo auditado " + names[i], ex);
+            }
+            values[i] = isScalar(v) ? v : redact(mapper.valueToTree(v));
+        }
+        return values;
+    }
+
+    static boolean isRedacted(String name) {
+        return name != null && REDACTED.contains(name.toLowerCase());
+    }
+
+    /** Enmascara recursivamente campos sensibles para que nunca lleguen al log de auditoria. */
+    static JsonNode redact(JsonNode node) {
+        if (node == null || !node.isContainerNode()) return node;
+        if (node.isObject()) {
+            ObjectNode obj = (ObjectNode) node;
+            Iterator<String> it = obj.fieldNames();
+            List<String> toMask = new ArrayList<>();
+            while (it.hasNext()) {
+                String f = it.next();
+                if (isRedacted(f)) toMask.add(f);
+                else redact(obj.get(f));
+            }
+            for (String f : toMask) obj.put(f, MASK);
+        } else if (node.isArray()) {
+            node.forEach(AuditSchema::redact);
+        }
+        return node;
+    }
+
+    /** Inmutables sin estructura interna: se comparan y publican tal cual. */
+    private static boolean isScalar(Object v) {
+        return v == null
+                || v instanceof String || v instanceof Boolean || v instanceof Character
+                || v instanceof Integer || v instanceof Long || v instanceof Short || v instanceof Byte
+                || v instanceof Double || v instanceof Float
+                || v instanceof BigDecimal || v instanceof BigInteger
+                || v instanceof Enum<?> || v instanceof UUID || v instanceof TemporalAccessor;
+    }
+
+    private static MethodHandle getter(Class<?> type, AnnotatedMember accessor) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(
+                    accessor.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle mh = accessor instanceof AnnotatedMethod m
+                    ? lookup.unreflect(m.getAnnotated())
+                    : lookup.unreflectGetter(((AnnotatedField) accessor).getAnnotated());
+            return mh.asType(GETTER_TYPE);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("No se puede auditar " + type.getName() + "." + accessor.getName(), ex);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.saas.common.audit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Foto inmutable de un objeto de dominio tomada por {@link AuditEmitter#snapshot}.
+ * Son solo los valores de sus campos (ya redactados) en el orden de su
+ * {@link AuditSchema}; se convierten a mapa unicamente si hay que publicarlos.
+ */
+public final class AuditSnapshot {
+
+    final AuditSchema schema;
+    final Object[] values;
+
+    AuditSnapshot(AuditSchema schema, Object[] values) {
+        this.schema = schema;
+        this.values = values;
+    }
+
+    /** Valor del campo {@code name}, o {@code null} si la clase no lo tiene. */
+    Object get(String name) {
+        int i = schema.indexOf(name);
+        return i >= 0 ? values[i] : null;
+    }
+
+    /** Foto completa como mapa campo → valor (se serializa tal cual en el payload). */
+    Map<String, Object> toMap() {
+        Map<String, Object> m = new LinkedHashMap<>(values.length * 2);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) m.put(schema.name(i), values[i]);
+        }
+        return m;
+    }
+}
@@ -0,0 +1,26 @@
+package com.saas.common.controller;
+
+import java.util.UUID;
+
+/**
+ * Contrato con la cache de borde del gateway para los endpoints PUBLICOS.
+ *
+ * Un controller que marca su respuesta con {@link #HEADER} autoriza al gateway
+ * a guardarla; el valor es el tag por el que se invalida cuando llega el evento
+ * de dominio correspondiente ({@code business.public.changed} por businessId,
+ * {@code app.version.changed}). Respuesta sin tag = no se cachea.
+ *
+ * El header coincide con {@code com.saas.gatewayservice.cache.EdgeResponseCache#TAG_HEADER}.
+ */
+public final class EdgeCacheTags {
+
+    public static final String HEADER = "X-Edge-Cache-Tag";
+
+    public static final String APP_VERSION = "app-version";
+
+    private EdgeCacheTags() {}
+
+    public static String business(UUID businessId) {
+        return "business:" + businessId;
+    }
+}
@@ -0,0 +1,68 @@
+package com.saas.common.dto;
+
+import com.saas.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pagina de un recorrido keyset (por cursor): los items y el token para pedir
+ * la siguiente. {@code nextCursor == null} significa que no hay mas.
+ *
+ * <p>El cursor es OPACO para el cliente (base64url de la ultima clave
+ * devuelta): solo se reenvia tal cual en {@code ?cursor=}. Asi se puede cambiar
+ * la clave de orden sin romper a los consumidores.
+ *
+ * <p>A diferencia de OFFSET, cada pagina cuesta lo mismo sin importar cuan
+ * adentro este (el motor salta por indice a {@code clave > cursor}), y las
+ * escrituras concurrentes no corren la ventana: no se saltan ni se repiten
+ * filas.
+ *
+ * @param <T> tipo de los items
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /** Tope de items por pagina: un {@code ?size=} mayor se recorta a este. */
+    public static final int MAX_SIZE = 1000;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> fn) {
+        return new CursorPage<>(items.stream().<R>map(fn).toList(), nextCursor);
+    }
+
+    /**
+     * Tamaño de pagina efectivo: recortado a {@link #MAX_SIZE}.
+     *
+     * @throws BusinessException si {@code size < 1}
+     */
+    public static int checkSize(int size) {
+        if (size < 1) throw new BusinessException("size debe ser mayor que 0");
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /** Token opaco para una clave de orden. */
+    public static String encode(Object key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Clave contenida en un token de {@link #encode}; {@code null} o vacio es
+     * "desde el inicio".
+     *
+     * @throws BusinessException si el token no es base64url valido
+     */
+    public static String decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Cursor invalido");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.saas.common.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Lag de proyeccion del lado consumer: tiempo entre {@code occurredAt} del
+ * envelope (cuando ocurrio el cambio en el dominio) y el momento en que el
+ * consumer termino de aplicarlo (ES en search-service, audit_log en
+ * audit-service). Metrica {@code events.consumer.lag}, tag {@code type}.
+ *
+ * Complementa a {@code outbox.relay.end.to.end} (lado productor): si este
+ * crece y aquel no, el cuello de botella esta en el consumer.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventLagMetrics {
+
+    private final MeterRegistry registry;
+
+    public void recordApplied(EventEnvelope envelope) {
+        if (envelope.getOccurredAt() == null) return;
+        Timer.builder("events.consumer.lag")
+                .description("Latencia desde el cambio de dominio hasta aplicarlo en el consumer")
+                .tag("type", envelope.getType() != null ? envelope.getType() : "unknown")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(Duration.between(envelope.getOccurredAt(), Instant.now()));
+    }
+}
@@ -44,6 +44,30 @@ public final class EventTypes {
     public static final String FINANCE_BALANCE_UPDATED = "finance.balance.updated";
     public static final String FINANCE_BALANCE_DELETED = "finance.balance.deleted";
 
+    /**
+     * Cambio en algo que muestra la superficie PUBLICA de un negocio (landing,
+     * branding, slug, sedes, servicios). El gateway lo usa para invalidar su
+     * cache de borde; aggregateId = businessId.
+     */
+    public static final String BUSINESS_PUBLIC_CHANGED = "business.public.changed";
+
+    /**
+     * Alta/cambio/baja de un vinculo business_owner (tercero dueño de un negocio).
+     * auth-service lo usa para invalidar su cache userId -> businessId.
+     */
+    public static final String BUSINESS_OWNER_CHANGED = "business.owner.changed";
+
+    /**
+     * Snapshot compilado rol -> permisos (ver {@code PermissionMatrixSnapshot}).
+     * Lo publica system-service en cada cambio de roles/permisos y
+     * periodicamente; cada servicio lo mantiene en memoria. El relay lo enruta
+     * al topic compactado {@code permission.matrix} (no a domain.events).
+     */
+    public static final String PERMISSION_MATRIX_CHANGED = "permission.matrix.changed";
+
+    /** Cambio en la version vigente del APK (publicacion o notas). Invalida la cache de borde. */
+    public static final String APP_VERSION_CHANGED = "app.version.changed";
+
     /**
      * Evento dedicado de auditoria. Lo emite {@link com.saas.common.audit.AuditEmitter}
      * desde los servicios base CRUD. El relay enruta todo lo que empiece por
@@ -0,0 +1,73 @@
+package com.saas.common.outbox;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saas.common.events.EventEnvelope;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.UUID;
+
+/**
+ * Serializa un {@link OutboxEvent} directamente al JSON de {@link EventEnvelope}
+ * sin pasar por el DTO ni por un arbol {@code JsonNode}.
+ *
+ * Antes el relay hacia {@code readTree(payload)} → {@code EventEnvelope} →
+ * {@code writeValueAsString}: un parse + una serializacion completa del payload
+ * por evento, solo para volver a escribir el mismo JSON. Aqui los campos del
+ * envelope se escriben en streaming y el {@code Payload} guardado en
+ * {@code outbox_event} (ya es JSON valido: lo genero el publisher y MySQL lo
+ * valida en la columna JSON) se empalma tal cual con {@code writeRawValue}.
+ *
+ * El JSON resultante es el mismo contrato que consumen search/audit: mismos
+ * nombres de campo, mismo orden y nulls omitidos (NON_NULL). Si se agrega un
+ * campo a {@link EventEnvelope}, hay que agregarlo tambien aqui.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEnvelopeWriter {
+
+    private static final int ENVELOPE_VERSION = 1;
+
+    /** Holgura para los campos del envelope alrededor del payload. */
+    private static final int ENVELOPE_OVERHEAD = 320;
+
+    private final ObjectMapper mapper;
+
+    public String write(OutboxEvent e, String producer) throws IOException {
+        int payloadLength = e.getPayload() != null ? e.getPayload().length() : 0;
+        StringWriter out = new StringWriter(payloadLength + ENVELOPE_OVERHEAD);
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeNumberField("_v", ENVELOPE_VERSION);
+            writeUuid(gen, "eventId", e.getEventId());
+            writeString(gen, "type", e.getEventType());
+            gen.writeNumberField("version", e.getVersion());
+            writeUuid(gen, "businessId", e.getBusinessId());
+            writeUuid(gen, "aggregateId", e.getAggregateId());
+            writeString(gen, "aggregateType", e.getAggregateType());
+            if (e.getCreatedAt() != null) {
+                // Via el codec (ObjectMapper): respeta el formato de fechas configurado.
+                gen.writeFieldName("occurredAt");
+                gen.writeObject(e.getCreatedAt());
+            }
+            writeString(gen, "producer", producer);
+            if (e.getPayload() != null) {
+                gen.writeFieldName("payload");
+                gen.writeRawValue(e.getPayload());
+            }
+            gen.writeEndObject();
+        }
+        return out.toString();
+    }
+
+    private static void writeUuid(JsonGenerator gen, String field, UUID value) throws IOException {
+        if (value != null) gen.writeStringField(field, value.toString());
+    }
+
+    private static void writeString(JsonGenerator gen, String field, String value) throws IOException {
+        if (value != null) gen.writeStringField(field, value);
+    }
+}
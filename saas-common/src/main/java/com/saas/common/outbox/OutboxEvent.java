@@ -68,4 +68,18 @@ public class OutboxEvent {
 
     @Column(name = "PublishedAt")
     private Instant publishedAt;
+
+    /** Shard fijo [0, 64) para el relay por lanes. Ver {@link OutboxLaneRouter}. */
+    @Column(name = "Shard", nullable = false)
+    @Builder.Default
+    private int shard = 0;
+
+    /**
+     * Clave de particion en Kafka (y de shard en el relay): el negocio si lo
+     * hay, si no el agregado. Todos los eventos con la misma clave conservan
+     * su orden relativo.
+     */
+    public String partitionKey() {
+        return (businessId != null ? businessId : aggregateId).toString();
+    }
 }
@@ -1,9 +1,11 @@
 package com.saas.common.outbox;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -41,4 +43,117 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID>
         FOR UPDATE SKIP LOCKED
         """, nativeQuery = true)
     List<OutboxEvent> lockBatch(@Param("limit") int limit);
+
+    /**
+     * Toma el lane {@code lane} para esta transaccion (fila de {@code outbox_lane}).
+     * Vacio = otra instancia lo esta drenando ahora mismo: se salta el ciclo.
+     * Garantiza que un lane (y por tanto cada key) lo procese UN solo worker
+     * a la vez en todo el cluster, lo que SKIP LOCKED solo no garantiza.
+     */
+    @Query(value = """
+        SELECT Lane FROM outbox_lane
+        WHERE Lane = :lane
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<Integer> tryLockLane(@Param("lane") int lane);
+
+    /**
+     * Como {@link #lockBatch} pero solo los shards del lane indicado
+     * ({@code Shard % lanes = lane}). Se llama con el lane ya tomado via
+     * {@link #tryLockLane}.
+     */
+    @Query(value = """
+        SELECT * FROM outbox_event
+        WHERE Status = 'PENDING' AND MOD(Shard, :lanes) = :lane
+        ORDER BY CreatedAt ASC
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<OutboxEvent> lockLaneBatch(@Param("lane") int lane,
+                                    @Param("lanes") int lanes,
+                                    @Param("limit") int limit);
+
+    /**
+     * Backlog por eventType para {@link OutboxMetrics}: [eventType, count, oldestCreatedAt].
+     * Usa idx_outbox_status_created (solo recorre PENDING).
+     */
+    @Query("""
+        SELECT e.eventType, COUNT(e), MIN(e.createdAt)
+        FROM OutboxEvent e
+        WHERE e.status = com.saas.common.outbox.OutboxEventStatus.PENDING
+        GROUP BY e.eventType
+        """)
+    List<Object[]> pendingStatsByType();
+
+    // ------------------------------------------------------------------
+    // Housekeeping (OutboxHousekeeper). Todos operan en chunks con
+    // ORDER BY + LIMIT sobre idx_outbox_status_published para que cada
+    // transaccion toque pocas filas y suelte los locks rapido.
+    // ------------------------------------------------------------------
+
+    /**
+     * Copia al archivo un chunk de eventos PUBLISHED anteriores a {@code cutoff}.
+     * {@code INSERT IGNORE}: si otra instancia ya archivo la fila, se salta.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO outbox_event_archive
+            (Id, EventId, AggregateType, AggregateId, EventType, Version, BusinessId,
+             Payload, Status, Retries, LastError, CreatedAt, PublishedAt, Shard, ArchivedAt)
+        SELECT Id, EventId, AggregateType, AggregateId, EventType, Version, BusinessId,
+               Payload, Status, Retries, LastError, CreatedAt, PublishedAt, Shard, :archivedAt
+        FROM outbox_event
+        WHERE Status = 'PUBLISHED' AND PublishedAt < :cutoff
+        ORDER BY PublishedAt ASC, Id ASC
+        LIMIT :limit
+        """, nativeQuery = true)
+    int archivePublishedChunk(@Param("cutoff") Instant cutoff,
+                              @Param("archivedAt") Instant archivedAt,
+                              @Param("limit") int limit);
+
+    /**
+     * Borra un chunk de eventos PUBLISHED anteriores a {@code cutoff} que YA
+     * estan en el archivo (join por Id): una fila sin archivar nunca se borra,
+     * aunque el chunk de {@link #archivePublishedChunk} haya elegido otras.
+     * MySQL no admite LIMIT en un DELETE multi-tabla, de ahi la subconsulta
+     * derivada con el chunk de Ids.
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM outbox_event
+        WHERE Id IN (
+            SELECT Id FROM (
+                SELECT o.Id
+                FROM outbox_event o
+                JOIN outbox_event_archive a ON a.Id = o.Id
+                WHERE o.Status = 'PUBLISHED' AND o.PublishedAt < :cutoff
+                ORDER BY o.PublishedAt ASC, o.Id ASC
+                LIMIT :limit
+            ) archived
+        )
+        """, nativeQuery = true)
+    int deleteArchivedPublishedChunk(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    /**
+     * Borra un chunk de eventos PUBLISHED anteriores a {@code cutoff} sin
+     * archivarlos ({@code saas.outbox.housekeeping.archive=false}).
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM outbox_event
+        WHERE Status = 'PUBLISHED' AND PublishedAt < :cutoff
+        ORDER BY PublishedAt ASC, Id ASC
+        LIMIT :limit
+        """, nativeQuery = true)
+    int deletePublishedChunk(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    /** Purga un chunk del archivo anterior a {@code cutoff}. */
+    @Modifying
+    @Query(value = """
+        DELETE FROM outbox_event_archive
+        WHERE PublishedAt < :cutoff
+        ORDER BY PublishedAt ASC
+        LIMIT :limit
+        """, nativeQuery = true)
+    int deleteArchivedChunk(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 }
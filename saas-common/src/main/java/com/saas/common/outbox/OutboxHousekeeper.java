@@ -0,0 +1,104 @@
+package com.saas.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Mantenimiento de {@code outbox_event}: saca de la tabla caliente los eventos
+ * PUBLISHED mas viejos que {@code saas.outbox.housekeeping.retention-hours}.
+ *
+ * Sin esto la tabla crece para siempre (cada fila con su Payload JSON) y el
+ * {@code lockBatch} del relay, aunque use el indice, convive con un historial
+ * cada vez mas grande (buffer pool, backups, B-tree mas profundo). Con la
+ * purga, {@code outbox_event} contiene solo PENDING/FAILED + la ventana
+ * reciente: el scan del relay queda O(pendientes).
+ *
+ *   archive=true (default): cada chunk se copia a {@code outbox_event_archive}
+ *       y se borra de la tabla caliente en la MISMA transaccion; el borrado
+ *       hace join contra el archivo, asi que solo borra filas ya archivadas.
+ *   archive=false: solo se borra.
+ *   Los FAILED nunca se tocan: requieren intervencion manual.
+ *   El archivo se purga a su vez tras {@code archive-retention-days}.
+ *
+ * Cada chunk es una transaccion corta (ORDER BY PublishedAt LIMIT n) para no
+ * bloquear al relay ni a los INSERT de los casos de uso. Se activa solo en el
+ * servicio lider del schema ({@code saas.outbox.housekeeping.enabled=true});
+ * si corre en varias instancias a la vez es seguro (INSERT IGNORE + locks).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "saas.outbox.housekeeping", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OutboxHousekeeper {
+
+    private final OutboxEventRepository repo;
+    private final TransactionTemplate tx;
+
+    @Value("${saas.outbox.housekeeping.retention-hours:72}")
+    private long retentionHours;
+
+    @Value("${saas.outbox.housekeeping.archive:true}")
+    private boolean archive;
+
+    @Value("${saas.outbox.housekeeping.archive-retention-days:90}")
+    private long archiveRetentionDays;
+
+    @Value("${saas.outbox.housekeeping.chunk-size:500}")
+    private int chunkSize;
+
+    /** Tope de chunks por corrida: el resto se procesa en la siguiente. */
+    @Value("${saas.outbox.housekeeping.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    @Scheduled(cron = "${saas.outbox.housekeeping.cron:0 */15 * * * *}")
+    public void run() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(retentionHours));
+        int moved = purgePublished(cutoff);
+
+        int purgedArchive = 0;
+        if (archive) {
+            Instant archiveCutoff = Instant.now().minus(Duration.ofDays(archiveRetentionDays));
+            purgedArchive = runChunks(() -> repo.deleteArchivedChunk(archiveCutoff, chunkSize));
+        }
+
+        if (moved > 0 || purgedArchive > 0) {
+            log.info("Outbox housekeeping: {} eventos {} (cutoff={}), {} purgados del archivo",
+                    moved, archive ? "archivados" : "borrados", cutoff, purgedArchive);
+        }
+    }
+
+    private int purgePublished(Instant cutoff) {
+        return runChunks(() -> {
+            if (!archive) {
+                return repo.deletePublishedChunk(cutoff, chunkSize);
+            }
+            repo.archivePublishedChunk(cutoff, Instant.now(), chunkSize);
+            return repo.deleteArchivedPublishedChunk(cutoff, chunkSize);
+        });
+    }
+
+    /** Ejecuta chunks (cada uno en su transaccion) hasta que uno venga incompleto. */
+    private int runChunks(ChunkOperation op) {
+        int total = 0;
+        for (int i = 0; i < maxChunksPerRun; i++) {
+            Integer affected = tx.execute(status -> op.apply());
+            int n = affected != null ? affected : 0;
+            total += n;
+            if (n < chunkSize) break;
+        }
+        return total;
+    }
+
+    @FunctionalInterface
+    private interface ChunkOperation {
+        int apply();
+    }
+}
@@ -0,0 +1,45 @@
+package com.saas.common.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reparto de eventos del outbox en lanes (carriles) para el relay paralelo.
+ *
+ * Cada evento recibe al publicarse un {@code Shard} fijo en [0, {@link #SHARDS})
+ * derivado de su clave de particion Kafka ({@code businessId} o, si no hay,
+ * {@code aggregateId}). En runtime el relay corre {@code saas.outbox.lanes}
+ * workers y el worker {@code i} drena los shards con {@code Shard % lanes == i},
+ * en orden de {@code CreatedAt}. Mismo key → mismo shard → mismo lane →
+ * mismo orden en que se escribieron (igual que la particion de Kafka).
+ *
+ * El shard se guarda fijo (no el lane) para poder cambiar {@code lanes} sin
+ * dejar eventos huerfanos. {@code saas.outbox.lanes} se define en el
+ * application.properties GLOBAL: todos los servicios comparten outbox_event y
+ * deben repartir igual, si no dos lanes distintos podrian tomar el mismo shard.
+ */
+@Component
+public class OutboxLaneRouter {
+
+    /** Numero fijo de shards. Debe coincidir con las filas sembradas en outbox_lane. */
+    public static final int SHARDS = 64;
+
+    private final int lanes;
+
+    public OutboxLaneRouter(@Value("${saas.outbox.lanes:1}") int lanes) {
+        this.lanes = Math.max(1, Math.min(lanes, SHARDS));
+    }
+
+    /** Cuantos lanes (workers) drenan el outbox. */
+    public int lanes() {
+        return lanes;
+    }
+
+    public int shardOf(String partitionKey) {
+        return Math.floorMod(partitionKey.hashCode(), SHARDS);
+    }
+
+    public int laneOf(int shard) {
+        return shard % lanes;
+    }
+}
@@ -0,0 +1,124 @@
+package com.saas.common.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metricas Micrometer del outbox y del relay (expuestas en
+ * {@code /actuator/metrics} y {@code /actuator/prometheus}).
+ *
+ *   {@code outbox.pending} / {@code outbox.pending.oldest.age}: backlog por
+ *       eventType (muestreado cada {@code saas.outbox.metrics.sample-ms}).
+ *       Es la alarma principal: si la edad del mas viejo crece, el relay se
+ *       esta quedando atras.
+ *   {@code outbox.relay.batch.size}: distribucion del tamano de batch.
+ *   {@code outbox.relay.publish}: latencia send→ack de Kafka (topic, type, outcome).
+ *   {@code outbox.relay.end.to.end}: latencia CreatedAt→ack (commit a Kafka).
+ *   {@code outbox.relay.retries} / {@code outbox.relay.failed}: reintentos y
+ *       transiciones a FAILED por type.
+ *
+ * El tag {@code application} lo pone {@code management.metrics.tags.application}
+ * (config global), asi cada servicio se distingue en el mismo dashboard.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+        prefix = "saas.outbox",
+        name = "relay-enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class OutboxMetrics {
+
+    private final MeterRegistry registry;
+    private final OutboxEventRepository repo;
+    private final DistributionSummary batchSize;
+    private final MultiGauge pending;
+    private final MultiGauge oldestAge;
+
+    public OutboxMetrics(MeterRegistry registry, OutboxEventRepository repo) {
+        this.registry = registry;
+        this.repo = repo;
+        this.batchSize = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("Eventos por batch tomado por el relay")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.pending = MultiGauge.builder("outbox.pending")
+                .description("Eventos PENDING en outbox_event")
+                .register(registry);
+        this.oldestAge = MultiGauge.builder("outbox.pending.oldest.age")
+                .description("Edad del evento PENDING mas viejo")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public void recordBatch(int size) {
+        batchSize.record(size);
+    }
+
+    /** Latencia send→ack (o send→error) de un evento. */
+    public void recordPublish(String topic, String eventType, long startNanos, boolean success) {
+        Timer.builder("outbox.relay.publish")
+                .description("Latencia de publicacion a Kafka (send hasta ack)")
+                .tags("topic", topic, "type", eventType, "outcome", success ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Latencia desde que se escribio el evento hasta que Kafka lo confirmo. */
+    public void recordPublished(OutboxEvent event) {
+        if (event.getCreatedAt() == null) return;
+        Timer.builder("outbox.relay.end.to.end")
+                .description("Latencia commit del evento hasta ack de Kafka")
+                .tag("type", event.getEventType())
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(Duration.between(event.getCreatedAt(), Instant.now()));
+    }
+
+    public void recordRetry(OutboxEvent event) {
+        Counter.builder("outbox.relay.retries")
+                .tag("type", event.getEventType())
+                .register(registry)
+                .increment();
+    }
+
+    public void recordFailed(OutboxEvent event) {
+        Counter.builder("outbox.relay.failed")
+                .description("Eventos marcados FAILED tras agotar reintentos")
+                .tag("type", event.getEventType())
+                .register(registry)
+                .increment();
+    }
+
+    /** Muestrea backlog y edad del PENDING mas viejo por eventType (una query agregada). */
+    @Scheduled(fixedDelayString = "${saas.outbox.metrics.sample-ms:15000}")
+    public void samplePending() {
+        try {
+            List<Object[]> rows = repo.pendingStatsByType();
+            Instant now = Instant.now();
+            pending.register(rows.stream()
+                    .map(r -> MultiGauge.Row.of(Tags.of("type", (String) r[0]), ((Number) r[1]).doubleValue()))
+                    .toList(), true);
+            oldestAge.register(rows.stream()
+                    .map(r -> MultiGauge.Row.of(Tags.of("type", (String) r[0]),
+                            Duration.between((Instant) r[2], now).toMillis() / 1000.0))
+                    .toList(), true);
+        } catch (Exception ex) {
+            log.warn("Outbox metrics: no se pudo muestrear PENDING: {}", ex.getMessage());
+        }
+    }
+}
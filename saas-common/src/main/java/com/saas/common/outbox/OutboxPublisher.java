@@ -36,6 +36,8 @@ public interface OutboxPublisher {
 
     /**
      * Encola un evento al outbox. Sera publicado a Kafka por el OutboxRelay.
+     * Dentro de una transaccion el INSERT se difiere al {@code beforeCommit}
+     * (batch con el resto de eventos de la transaccion).
      *
      * @param eventType     identificador del tipo de evento (usar constantes de
      *                      {@link com.saas.common.events.EventTypes}).
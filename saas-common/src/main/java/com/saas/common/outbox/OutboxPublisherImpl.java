@@ -2,13 +2,31 @@ package com.saas.common.outbox;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * Implementacion del {@link OutboxPublisher} con buffer por transaccion.
+ *
+ * Dentro de una transaccion los eventos NO se insertan uno a uno: se acumulan
+ * en un {@link OutboxTransactionBuffer} (colapsando repetidos del mismo
+ * agregado) y se persisten todos en el {@code beforeCommit}, en un solo batch
+ * JDBC ({@code hibernate.jdbc.batch_size}). Un update CRUD tipico (evento de
+ * dominio + auditoria + cascadas) pasa de N INSERT sueltos a un batch.
+ * Sigue siendo atomico: si el INSERT falla, el commit falla y el cambio de
+ * dominio hace rollback.
+ *
+ * En el {@code afterCommit} despierta a los lanes del relay afectados.
+ */
 @Slf4j
 @Component
 @ConditionalOnProperty(
@@ -21,6 +39,11 @@ public class OutboxPublisherImpl implements OutboxPublisher {
 
     private final OutboxEventRepository repo;
     private final ObjectMapper mapper;
+    private final OutboxWakeup wakeup;
+    private final OutboxLaneRouter lanes;
+
+    @PersistenceContext
+    private EntityManager em;
 
     @Override
     public void publish(String eventType,
@@ -43,8 +66,15 @@ public class OutboxPublisherImpl implements OutboxPublisher {
                     .retries(0)
                     .createdAt(Instant.now())
                     .build();
+            event.setShard(lanes.shardOf(event.partitionKey()));
 
-            repo.save(event);
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                // Fuera de transaccion (no deberia pasar, ver OutboxPublisher): insert directo.
+                repo.save(event);
+                wakeup.signal(event.getShard());
+            } else {
+                currentBuffer().add(event);
+            }
             log.debug("Outbox event encolado: type={} aggregateId={} eventId={}",
                     eventType, aggregateId, event.getEventId());
 
@@ -53,4 +83,53 @@ public class OutboxPublisherImpl implements OutboxPublisher {
                     "Error serializando payload del evento " + eventType + ": " + ex.getMessage(), ex);
         }
     }
+
+    /**
+     * Buffer de la transaccion en curso. Se busca entre las sincronizaciones
+     * de ESTA transaccion (no como resource del hilo): asi una REQUIRES_NEW
+     * anidada tiene su propio buffer y se vuelca en su propio commit.
+     */
+    private OutboxTransactionBuffer currentBuffer() {
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof BufferSynchronization bs) return bs.buffer;
+        }
+        BufferSynchronization created = new BufferSynchronization(new OutboxTransactionBuffer());
+        TransactionSynchronizationManager.registerSynchronization(created);
+        return created.buffer;
+    }
+
+    /** Vuelca el buffer antes del commit y despierta al relay despues. */
+    private final class BufferSynchronization implements TransactionSynchronization {
+
+        private final OutboxTransactionBuffer buffer;
+
+        private BufferSynchronization(OutboxTransactionBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            flushBuffer(buffer);
+        }
+
+        @Override
+        public void afterCommit() {
+            buffer.shards().stream().forEach(wakeup::signal);
+        }
+    }
+
+    /**
+     * {@code persist} (no {@code save}: el Id es asignado y {@code save} haria
+     * un SELECT previo por evento) + {@code flush}, que Hibernate agrupa en
+     * un batch JDBC.
+     */
+    private void flushBuffer(OutboxTransactionBuffer buffer) {
+        if (buffer.isEmpty()) return;
+        for (OutboxEvent event : buffer.events()) {
+            em.persist(event);
+        }
+        em.flush();
+        log.debug("Outbox: {} eventos insertados en batch ({} colapsados)",
+                buffer.events().size(), buffer.collapsed());
+    }
 }
@@ -1,8 +1,5 @@
 package com.saas.common.outbox;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.saas.common.events.EventEnvelope;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,11 +7,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
@@ -29,7 +28,8 @@ public class OutboxRelay {
 
     private final OutboxEventRepository repo;
     private final KafkaTemplate<String, String> kafka;
-    private final ObjectMapper mapper;
+    private final OutboxEnvelopeWriter envelopeWriter;
+    private final OutboxMetrics metrics;
 
     @Value("${spring.application.name}")
     private String producerName;
@@ -41,6 +41,10 @@ public class OutboxRelay {
     @Value("${saas.outbox.audit-topic:audit.events}")
     private String auditTopic;
 
+    /** Topic compactado con el ultimo snapshot de la matriz de permisos. */
+    @Value("${saas.outbox.permission-topic:permission.matrix}")
+    private String permissionTopic;
+
     @Value("${saas.outbox.batch-size:100}")
     private int batchSize;
 
@@ -48,78 +52,167 @@ public class OutboxRelay {
     private int maxRetries;
 
     /**
-     * Procesa un batch de eventos PENDING. La transaccion engloba
+     * Modo pipelined (default): se disparan TODOS los send del batch sin
+     * esperar y luego se recogen los futures. El producer agrupa los records
+     * (linger/lz4 de {@code KafkaProducerConfig}) y el batch cuesta ~1 RTT al
+     * broker en vez de N. Con {@code false} se vuelve al envio uno a uno.
+     */
+    @Value("${saas.outbox.pipelined:true}")
+    private boolean pipelined;
+
+    /** Tiempo maximo de espera del ack de Kafka (por evento o por batch en modo pipelined). */
+    @Value("${saas.outbox.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    /**
+     * Procesa un batch de eventos PENDING de cualquier shard (modo de un solo
+     * lane). La transaccion engloba el lock (FOR UPDATE SKIP LOCKED), el envio
+     * a Kafka y el cambio de estado: las filas quedan bloqueadas hasta que se
+     * liquida todo el batch.
+     *
+     * La invoca {@link OutboxRelayScheduler} (commit-wakeup + backoff).
+     *
+     * @return cuantos eventos del batch quedaron PUBLISHED.
      */
     @Transactional
-    @Scheduled(fixedDelayString = "${saas.outbox.poll-delay-ms:2000}")
-    public void flush(){
-        List<OutboxEvent> batch = repo.lockBatch(batchSize);
-        if(batch.isEmpty()) return;
+    public int flush(){
+        return process(repo.lockBatch(batchSize));
+    }
 
-        log.debug("Outbox relay: procesando batch de {} eventos", batch.size());
+    /**
+     * Procesa un batch del lane {@code lane} de {@code lanes}. Primero toma la
+     * fila del lane en {@code outbox_lane}; si otra instancia la tiene, no hace
+     * nada. Asi cada lane se drena en orden por un unico worker del cluster.
+     *
+     * @return cuantos eventos del batch quedaron PUBLISHED.
+     */
+    @Transactional
+    public int flushLane(int lane, int lanes){
+        if (repo.tryLockLane(lane).isEmpty()) return 0;
+        return process(repo.lockLaneBatch(lane, lanes, batchSize));
+    }
+
+    private int process(List<OutboxEvent> batch){
+        if(batch.isEmpty()) return 0;
+
+        log.debug("Outbox relay: procesando batch de {} eventos (pipelined={})", batch.size(), pipelined);
+        metrics.recordBatch(batch.size());
+
+        if (pipelined) {
+            flushPipelined(batch);
+        } else {
+            flushSequential(batch);
+        }
+        return (int) batch.stream()
+                .filter(e -> e.getStatus() == OutboxEventStatus.PUBLISHED)
+                .count();
+    }
 
+    /** Envio uno a uno: cada evento espera su ack antes de enviar el siguiente. */
+    private void flushSequential(List<OutboxEvent> batch) {
         for(OutboxEvent event : batch){
             try {
-                publish(event);
-                event.setStatus(OutboxEventStatus.PUBLISHED);
-                event.setPublishedAt(Instant.now());
+                SendResult<String, String> result =
+                        send(event).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                markPublished(event, result);
+            } catch (ExecutionException ex) {
+                markFailed(event, ex.getCause() != null ? ex.getCause() : ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                markFailed(event, ex);
+            } catch (Exception ex) {
+                markFailed(event, ex);
+            }
+        }
+    }
+
+    /**
+     * Dispara todos los envios del batch y despues liquida cada evento segun
+     * su future. El orden por particion lo mantiene el producer idempotente
+     * (max.in.flight=5). Si un ack no llega antes del deadline el evento se
+     * reintenta en el siguiente ciclo; si el broker lo habia recibido, el
+     * consumer lo descarta por {@code eventId}.
+     */
+    private void flushPipelined(List<OutboxEvent> batch) {
+        List<CompletableFuture<SendResult<String, String>>> inFlight = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            try {
+                inFlight.add(send(event));
             } catch (Exception ex) {
-                event.setRetries(event.getRetries() + 1);
-                event.setLastError(truncate(ex.getMessage(), 1000));
-
-                if(event.getRetries() >= maxRetries){
-                    event.setStatus(OutboxEventStatus.FAILED);
-                    log.error("Outbox event FAILED tras {} retries: id={} type={}",
-                            maxRetries, event.getId(), event.getEventType(), ex);
-                } else {
-                    log.warn("Outbox publish fallo (retry {}/{}): id={} type={} err={}",
-                            event.getRetries(), maxRetries,
-                            event.getId(), event.getEventType(), ex.getMessage());
-                }
+                inFlight.add(CompletableFuture.failedFuture(ex));
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                long remaining = Math.max(0L, deadline - System.nanoTime());
+                markPublished(event, inFlight.get(i).get(remaining, TimeUnit.NANOSECONDS));
+            } catch (ExecutionException ex) {
+                markFailed(event, ex.getCause() != null ? ex.getCause() : ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                markFailed(event, ex);
+            } catch (Exception ex) {
+                markFailed(event, ex);
             }
         }
     }
 
-    private void publish(OutboxEvent event) throws Exception {
-        EventEnvelope envelope = toEnvelope(event);
+    /** Construye el envelope y lo entrega al producer. No bloquea esperando el ack. */
+    private CompletableFuture<SendResult<String, String>> send(OutboxEvent event) throws Exception {
+        String key = event.partitionKey();
 
-        String key = (event.getBusinessId() != null
-                ? event.getBusinessId()
-                : event.getAggregateId()).toString();
+        // Envelope en streaming con el payload empalmado tal cual (sin readTree).
+        String json = envelopeWriter.write(event, producerName);
 
-        String json =  mapper.writeValueAsString(envelope);
+        // Enrutado: auditoria y matriz de permisos van a sus topics dedicados.
+        String targetTopic = targetTopic(event.getEventType());
+
+        long start = System.nanoTime();
+        return kafka.send(targetTopic, key, json)
+                .whenComplete((r, ex) ->
+                        metrics.recordPublish(targetTopic, event.getEventType(), start, ex == null));
+    }
 
-        // Enrutado: los eventos de auditoria van a su topic dedicado.
-        String targetTopic = event.getEventType() != null
-                && event.getEventType().startsWith(com.saas.common.events.EventTypes.AUDIT_PREFIX)
-                ? auditTopic : topic;
+    private String targetTopic(String eventType) {
+        if (eventType == null) return topic;
+        if (eventType.startsWith(com.saas.common.events.EventTypes.AUDIT_PREFIX)) return auditTopic;
+        if (com.saas.common.events.EventTypes.PERMISSION_MATRIX_CHANGED.equals(eventType)) return permissionTopic;
+        return topic;
+    }
 
-        SendResult<String, String> result =
-                kafka.send(targetTopic, key, json).get(5, TimeUnit.SECONDS);
+    private void markPublished(OutboxEvent event, SendResult<String, String> result) {
+        event.setStatus(OutboxEventStatus.PUBLISHED);
+        event.setPublishedAt(Instant.now());
+        metrics.recordPublished(event);
 
         log.debug("Outbox event publicado: type={} key={} partition={} offset={}",
                 event.getEventType(),
-                key,
+                result.getProducerRecord().key(),
                 result.getRecordMetadata().partition(),
                 result.getRecordMetadata().offset());
     }
 
-
-    private EventEnvelope toEnvelope(OutboxEvent e) throws Exception {
-        JsonNode payload = mapper.readTree(e.getPayload());
-        return EventEnvelope.builder()
-                .eventId(e.getEventId())
-                .type(e.getEventType())
-                .version(e.getVersion())
-                .businessId(e.getBusinessId())
-                .aggregateId(e.getAggregateId())
-                .aggregateType(e.getAggregateType())
-                .occurredAt(e.getCreatedAt())
-                .producer(producerName)
-                .payload(payload)
-                .build();
+    private void markFailed(OutboxEvent event, Throwable ex) {
+        event.setRetries(event.getRetries() + 1);
+        event.setLastError(truncate(ex.getMessage(), 1000));
+
+        if(event.getRetries() >= maxRetries){
+            event.setStatus(OutboxEventStatus.FAILED);
+            metrics.recordFailed(event);
+            log.error("Outbox event FAILED tras {} retries: id={} type={}",
+                    maxRetries, event.getId(), event.getEventType(), ex);
+        } else {
+            metrics.recordRetry(event);
+            log.warn("Outbox publish fallo (retry {}/{}): id={} type={} err={}",
+                    event.getRetries(), maxRetries,
+                    event.getId(), event.getEventType(), ex.getMessage());
+        }
     }
 
+
     private static String truncate (String s, int max){
         if (s == null) return null;
         return s.length() > max ? s.substring(0, max) : s;
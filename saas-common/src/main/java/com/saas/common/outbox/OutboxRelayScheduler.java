@@ -0,0 +1,159 @@
+package com.saas.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Motor del {@link OutboxRelay}: hilos dedicados que reemplazan al antiguo
+ * {@code @Scheduled(fixedDelay)}.
+ *
+ * Con {@code saas.outbox.lanes=1} corre un solo worker que drena todo el
+ * outbox (comportamiento original). Con N lanes corre N workers
+ * ({@code outbox-relay-0..N-1}); cada uno drena en orden solo los shards de
+ * su lane ({@link OutboxLaneRouter}), asi el throughput escala con los cores
+ * y cada key sigue publicandose en el orden en que se escribio.
+ *
+ * Politica de espera entre flushes (por worker):
+ *
+ *   Batch lleno: hay backlog, se vuelve a hacer flush sin esperar.
+ *   Batch parcial: se espera {@code poll-min-delay-ms}.
+ *   Nada publicado (outbox vacio o Kafka fallando): la espera se duplica
+ *       en cada ciclo hasta {@code poll-max-delay-ms}. Asi una instancia
+ *       ociosa casi no toca MySQL y un broker caido no genera un loop caliente.
+ *
+ * En cualquier momento un commit que inserte eventos ({@link OutboxWakeup})
+ * corta la espera y reinicia el backoff: la latencia commit→Kafka baja de
+ * segundos a milisegundos. El poll queda solo como red de seguridad (eventos
+ * de otras instancias, reintentos).
+ *
+ * Apagado ordenado: {@link #stop(Runnable)} baja el flag, despierta a los
+ * lanes y espera (hasta {@code shutdown-timeout-ms}) a que terminen el flush
+ * en curso, asi los sends en vuelo reciben su ack y se marcan PUBLISHED en vez
+ * de quedar como reintentos. Solo se interrumpe a quien no termino a tiempo.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+        prefix = "saas.outbox",
+        name = "relay-enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+public class OutboxRelayScheduler implements SmartLifecycle {
+
+    private final OutboxRelay relay;
+    private final OutboxWakeup wakeup;
+    private final OutboxLaneRouter router;
+
+    @Value("${saas.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${saas.outbox.poll-min-delay-ms:100}")
+    private long minDelayMs;
+
+    @Value("${saas.outbox.poll-max-delay-ms:10000}")
+    private long maxDelayMs;
+
+    @Value("${saas.outbox.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private volatile boolean running;
+    private final List<Thread> workers = new ArrayList<>();
+
+    @Override
+    public void start() {
+        running = true;
+        int lanes = router.lanes();
+        for (int lane = 0; lane < lanes; lane++) {
+            int l = lane;
+            Thread worker = new Thread(() -> loop(l, lanes), "outbox-relay-" + lane);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("Outbox relay iniciado: lanes={} batch={} delay=[{}..{}]ms",
+                lanes, batchSize, minDelayMs, maxDelayMs);
+    }
+
+    @Override
+    public void stop() {
+        shutdown();
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        Thread stopper = new Thread(() -> {
+            try {
+                shutdown();
+            } finally {
+                callback.run();
+            }
+        }, "outbox-relay-stop");
+        stopper.setDaemon(true);
+        stopper.start();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void shutdown() {
+        running = false;
+        wakeup.signalAll();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        try {
+            for (Thread worker : workers) {
+                long left = deadline - System.nanoTime();
+                if (left > 0) TimeUnit.NANOSECONDS.timedJoin(worker, left);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        for (Thread worker : workers) {
+            if (worker.isAlive()) {
+                log.warn("Outbox relay: {} no termino en {}ms, se interrumpe", worker.getName(), shutdownTimeoutMs);
+                worker.interrupt();
+            }
+        }
+        workers.clear();
+        log.info("Outbox relay detenido");
+    }
+
+    private void loop(int lane, int lanes) {
+        long delay = minDelayMs;
+        while (running) {
+            int published;
+            try {
+                published = lanes == 1 ? relay.flush() : relay.flushLane(lane, lanes);
+            } catch (Exception ex) {
+                // BD caida, lock timeout... se reintenta con backoff.
+                log.warn("Outbox relay lane {}: flush fallo: {}", lane, ex.getMessage());
+                published = 0;
+            }
+
+            if (published >= batchSize) {
+                delay = minDelayMs;
+                continue;
+            }
+            delay = published > 0 ? minDelayMs : Math.min(delay * 2, maxDelayMs);
+
+            try {
+                if (wakeup.await(lane, delay)) {
+                    delay = minDelayMs;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
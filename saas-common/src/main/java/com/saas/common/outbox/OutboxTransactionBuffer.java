@@ -0,0 +1,60 @@
+package com.saas.common.outbox;
+
+import com.saas.common.events.EventTypes;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Eventos del outbox acumulados durante UNA transaccion. Lo crea y enlaza
+ * {@link OutboxPublisherImpl} al primer {@code publish} de la transaccion y
+ * se vuelca a {@code outbox_event} en un solo batch JDBC justo antes del commit.
+ *
+ * Colapso: si la transaccion publica varias veces el mismo eventType para el
+ * mismo agregado (ej. {@code user.updated} desde el hook y desde un cascade),
+ * solo sobrevive el ULTIMO (payload mas reciente) y se mueve al final para no
+ * adelantarse a otros eventos del agregado. Los eventos de auditoria NUNCA se
+ * colapsan: cada uno es un cambio distinto con su propio before/after.
+ *
+ * No es thread-safe: vive ligado al hilo de la transaccion.
+ */
+class OutboxTransactionBuffer {
+
+    private final Map<String, OutboxEvent> events = new LinkedHashMap<>();
+    private final BitSet shards = new BitSet(OutboxLaneRouter.SHARDS);
+    private int collapsed;
+
+    void add(OutboxEvent event) {
+        String key = collapseKey(event);
+        if (events.remove(key) != null) {
+            collapsed++;
+        }
+        events.put(key, event);
+        shards.set(event.getShard());
+    }
+
+    Collection<OutboxEvent> events() {
+        return events.values();
+    }
+
+    BitSet shards() {
+        return shards;
+    }
+
+    int collapsed() {
+        return collapsed;
+    }
+
+    boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    private static String collapseKey(OutboxEvent e) {
+        if (e.getEventType() != null && e.getEventType().startsWith(EventTypes.AUDIT_PREFIX)) {
+            return e.getEventId().toString();
+        }
+        return e.getEventType() + '|' + e.getAggregateType() + '|' + e.getAggregateId();
+    }
+}
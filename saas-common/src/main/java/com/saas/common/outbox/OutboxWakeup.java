@@ -0,0 +1,62 @@
+package com.saas.common.outbox;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Senal "hay eventos nuevos" entre el {@link OutboxPublisherImpl} y el
+ * {@link OutboxRelayScheduler} de la MISMA instancia.
+ *
+ * El publisher la dispara en el {@code afterCommit} de la transaccion que
+ * inserto el evento; el worker del lane correspondiente, que estaba dormido en
+ * {@link #await(int, long)}, despierta y hace flush de inmediato en vez de
+ * esperar al siguiente poll.
+ *
+ * Varias senales seguidas se colapsan en una sola por lane: basta con que el
+ * worker despierte una vez para recoger todo lo pendiente.
+ */
+@Component
+public class OutboxWakeup {
+
+    private final OutboxLaneRouter router;
+    private final Semaphore[] signals;
+
+    public OutboxWakeup(OutboxLaneRouter router) {
+        this.router = router;
+        this.signals = new Semaphore[router.lanes()];
+        for (int i = 0; i < signals.length; i++) {
+            signals[i] = new Semaphore(0);
+        }
+    }
+
+    /** Despierta al worker del lane que drena {@code shard}. Nunca bloquea. */
+    public void signal(int shard) {
+        Semaphore signal = signals[router.laneOf(shard)];
+        if (signal.availablePermits() == 0) {
+            signal.release();
+        }
+    }
+
+    /** Despierta a todos los workers (apagado: que vean {@code running=false} ya). */
+    public void signalAll() {
+        for (Semaphore signal : signals) {
+            if (signal.availablePermits() == 0) {
+                signal.release();
+            }
+        }
+    }
+
+    /**
+     * Espera una senal para {@code lane} como maximo {@code timeoutMs}.
+     *
+     * @return {@code true} si desperto por senal, {@code false} si vencio el tiempo.
+     */
+    public boolean await(int lane, long timeoutMs) throws InterruptedException {
+        Semaphore signal = signals[lane];
+        boolean woken = signal.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+        signal.drainPermits();
+        return woken;
+    }
+}
@@ -1,15 +1,26 @@
 package com.saas.common.persistence;
 
+import com.saas.common.dto.CursorPage;
+import com.saas.common.exception.BusinessException;
 import com.saas.common.exception.ResourceNotFoundException;
 import com.saas.common.mapper.IBaseMapper;
 import com.saas.common.model.BaseDomain;
 import com.saas.common.port.out.IGenericRepositoryPort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ClassUtils;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Adapter base para repositorios JPA. Implementa el CRUD generico
@@ -54,10 +65,18 @@ import java.util.Optional;
 public abstract class BaseJpaRepositoryAdapter<D extends BaseDomain, E extends BaseEntity, ID>
         implements IGenericRepositoryPort<D, ID> {
 
+    /** Clave del recorrido keyset: el PK (UUID, indice clustered en InnoDB). */
+    private static final String CURSOR_KEY = "id";
+
     protected final JpaRepository<E, ID> jpa;
     protected final IBaseMapper<D, E> mapper;
     private final String resourceName;
 
+    @PersistenceContext
+    private EntityManager em;
+
+    private volatile Class<E> entityClass;
+
     protected BaseJpaRepositoryAdapter(JpaRepository<E, ID> jpa,
                                        IBaseMapper<D, E> mapper,
                                        String resourceName) {
@@ -111,6 +130,31 @@ public abstract class BaseJpaRepositoryAdapter<D extends BaseDomain, E extends B
         return mapper.toDomainList(jpa.findAll(PageRequest.of(page, size)).getContent());
     }
 
+    /**
+     * {@code WHERE Id > :cursor ORDER BY Id LIMIT :size}: cada pagina es un
+     * range scan sobre el PK, asi recorrer toda la tabla es O(n) y no O(n²)
+     * como con OFFSET. Respeta el {@code @SQLRestriction} de la entidad.
+     */
+    @Override
+    public CursorPage<D> findAllAfter(String cursor, int size) {
+        int limit = CursorPage.checkSize(size);
+        Class<E> type = entityClass();
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<E> q = cb.createQuery(type);
+        Root<E> root = q.from(type);
+        Path<UUID> key = root.get(CURSOR_KEY);
+
+        UUID after = cursorKey(cursor);
+        if (after != null) {
+            q.where(cb.greaterThan(key, after));
+        }
+        q.orderBy(cb.asc(key));
+
+        List<E> rows = em.createQuery(q).setMaxResults(limit).getResultList();
+        String next = rows.size() < limit ? null : CursorPage.encode(rows.get(rows.size() - 1).getId());
+        return new CursorPage<>(mapper.toDomainList(rows), next);
+    }
+
     @Override
     public long count() {
         return jpa.count();
@@ -135,4 +179,29 @@ public abstract class BaseJpaRepositoryAdapter<D extends BaseDomain, E extends B
     public void hardDeleteById(ID id) {
         jpa.deleteById(id);
     }
+
+    private static UUID cursorKey(String cursor) {
+        String key = CursorPage.decode(cursor);
+        if (key == null) return null;
+        try {
+            return UUID.fromString(key);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Cursor invalido");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<E> entityClass() {
+        Class<E> type = entityClass;
+        if (type == null) {
+            Class<?>[] args = GenericTypeResolver.resolveTypeArguments(
+                    ClassUtils.getUserClass(getClass()), BaseJpaRepositoryAdapter.class);
+            if (args == null || args[1] == null) {
+                throw new IllegalStateException("No se pudo resolver la entidad de " + getClass().getName());
+            }
+            type = (Class<E>) args[1];
+            entityClass = type;
+        }
+        return type;
+    }
 }
@@ -1,5 +1,6 @@
 package com.saas.common.port.in;
 
+import com.saas.common.dto.CursorPage;
 import com.saas.common.exception.ResourceNotFoundException;
 import com.saas.common.model.BaseDomain;
 
@@ -46,5 +47,8 @@ public interface IGenericUseCase<T extends BaseDomain, ID> {
 
     List<T> findAllPaged(int page, int size);
 
+    /** Paginado keyset (ver {@code IGenericRepositoryPort#findAllAfter}). */
+    CursorPage<T> findAllAfter(String cursor, int size);
+
     long count();
 }
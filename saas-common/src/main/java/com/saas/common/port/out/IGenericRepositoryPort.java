@@ -1,5 +1,6 @@
 package com.saas.common.port.out;
 
+import com.saas.common.dto.CursorPage;
 import com.saas.common.model.BaseDomain;
 
 import java.util.List;
@@ -39,8 +40,22 @@ public interface IGenericRepositoryPort<T extends BaseDomain, ID> {
      */
     void hardDeleteById(ID id);
 
+    /**
+     * Paginado por OFFSET. Cada pagina relee todas las anteriores: para
+     * recorridos completos usar {@link #findAllAfter}.
+     */
     List<T> findAllPaged(int page, int size);
 
+    /**
+     * Paginado keyset ordenado por {@code Id}: devuelve hasta {@code size}
+     * registros con {@code Id > cursor} y el cursor de la siguiente pagina.
+     *
+     * @param cursor token de la pagina anterior, o null para empezar
+     * @param size   1..{@link CursorPage#MAX_SIZE} (mas grande se recorta)
+     * @throws com.saas.common.exception.BusinessException si {@code size < 1}
+     */
+    CursorPage<T> findAllAfter(String cursor, int size);
+
     long count();
 
 }
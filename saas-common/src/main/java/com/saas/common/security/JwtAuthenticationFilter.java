@@ -20,6 +20,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import javax.crypto.SecretKey;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -30,7 +31,10 @@ import java.util.UUID;
  * con un {@link SimpleJwtPrincipal} (suficiente para auditoria y
  * autorizacion via {@code @PreAuthorize}).
  *
- * No es necesario consultar BD: todo viene del JWT.
+ * No es necesario consultar BD: todo viene del JWT. Los permisos efectivos se
+ * resuelven una vez por request contra la {@link PermissionMatrix} local: si el
+ * token trae el claim {@code perms} de la misma version ({@code pv}) se usa
+ * tal cual; si no, se calcula desde los roles.
  *
  * Para que se cargue automaticamente en un servicio basta con que su
  * {@code @SpringBootApplication} escanee {@code com.saas.common} y exponga
@@ -42,9 +46,12 @@ import java.util.UUID;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final SecretKey key;
+    private final PermissionMatrixHolder permissionMatrix;
 
-    public JwtAuthenticationFilter(@Value("${jwt.secret}") String secret) {
+    public JwtAuthenticationFilter(@Value("${jwt.secret}") String secret,
+                                   PermissionMatrixHolder permissionMatrix) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.permissionMatrix = permissionMatrix;
     }
 
     @Override
@@ -62,7 +69,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 List<String> rolesList = c.get("roles", List.class);
                 Set<String> roles = rolesList == null ? Set.of() : Set.copyOf(rolesList);
 
-                SimpleJwtPrincipal principal = new SimpleJwtPrincipal(userId, username, roles);
+                SimpleJwtPrincipal principal =
+                        new SimpleJwtPrincipal(userId, username, roles, resolvePermissions(c, roles));
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(
                                 principal, null,
@@ -76,6 +84,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         chain.doFilter(request, response);
     }
 
+    private BitSet resolvePermissions(Claims c, Set<String> roles) {
+        return permissionMatrix.current().map(matrix -> {
+            String perms = c.get("perms", String.class);
+            return perms != null && matrix.version().equals(c.get("pv", String.class))
+                    ? PermissionMatrix.decode(perms)
+                    : matrix.permissionsOf(roles);
+        }).orElse(null);
+    }
+
     private String extractToken(HttpServletRequest req) {
         String h = req.getHeader("Authorization");
         return (h != null && h.startsWith("Bearer ")) ? h.substring(7) : null;
@@ -0,0 +1,34 @@
+package com.saas.common.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+
+/**
+ * Chequeo por permiso para {@code @PreAuthorize}, sin llamadas a red:
+ * <pre>
+ *   &#64;PreAuthorize("@perm.has('ROLE_WRITE')")
+ * </pre>
+ * Usa el bitset que {@link JwtAuthenticationFilter} resolvio en el principal;
+ * si no lo hay (otro tipo de principal), lo calcula desde los roles.
+ */
+@Component("perm")
+@RequiredArgsConstructor
+public class PermissionChecks {
+
+    private final PermissionMatrixHolder holder;
+
+    public boolean has(String permissionCode) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof IUserPrincipal principal)) return false;
+        return holder.current().map(matrix -> {
+            BitSet permissions = principal instanceof SimpleJwtPrincipal p && p.getPermissions() != null
+                    ? p.getPermissions()
+                    : matrix.permissionsOf(principal.getRoles());
+            return matrix.has(permissions, permissionCode);
+        }).orElse(false);
+    }
+}
@@ -0,0 +1,110 @@
+package com.saas.common.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Tabla rol -> permisos compilada a bitsets: un bit por permiso, un bitset por
+ * rol. Resolver los permisos efectivos de un token es un OR de los bitsets de
+ * sus roles, y cada chequeo posterior es un {@code BitSet.get} (sin red).
+ *
+ * Inmutable: {@link PermissionMatrixHolder} la reemplaza entera al llegar un
+ * snapshot nuevo. Los indices de bit solo valen dentro de una {@link #version()}.
+ */
+public final class PermissionMatrix {
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64D = Base64.getUrlDecoder();
+
+    private final String version;
+    private final Map<String, Integer> bitByPermission;
+    private final Map<String, BitSet> bitsByRole;
+
+    private PermissionMatrix(String version, Map<String, Integer> bitByPermission, Map<String, BitSet> bitsByRole) {
+        this.version = version;
+        this.bitByPermission = bitByPermission;
+        this.bitsByRole = bitsByRole;
+    }
+
+    /**
+     * Compila el snapshot desde la tabla plana. Orden deterministico (codigos
+     * ordenados) para que el hash de version solo cambie si cambia el contenido.
+     */
+    public static PermissionMatrixSnapshot compile(Map<String, Set<String>> permissionsByRole) {
+        TreeSet<String> codes = new TreeSet<>();
+        permissionsByRole.values().forEach(codes::addAll);
+        List<String> permissions = new ArrayList<>(codes);
+        Map<String, Integer> index = indexOf(permissions);
+
+        Map<String, String> roles = new LinkedHashMap<>();
+        new TreeMap<>(permissionsByRole).forEach((role, perms) -> {
+            BitSet bits = new BitSet(permissions.size());
+            perms.forEach(p -> bits.set(index.get(p)));
+            roles.put(role, encode(bits));
+        });
+        return new PermissionMatrixSnapshot(hash(permissions, roles), permissions, roles);
+    }
+
+    public static PermissionMatrix from(PermissionMatrixSnapshot snapshot) {
+        Map<String, BitSet> byRole = new HashMap<>();
+        snapshot.roles().forEach((role, bits) -> byRole.put(role, decode(bits)));
+        return new PermissionMatrix(snapshot.version(), indexOf(snapshot.permissions()), Map.copyOf(byRole));
+    }
+
+    public String version() {
+        return version;
+    }
+
+    /** Permisos efectivos de un conjunto de roles (OR de sus bitsets). */
+    public BitSet permissionsOf(Collection<String> roles) {
+        BitSet out = new BitSet();
+        for (String role : roles) {
+            BitSet bits = bitsByRole.get(role);
+            if (bits != null) out.or(bits);
+        }
+        return out;
+    }
+
+    public boolean has(BitSet permissions, String permissionCode) {
+        Integer bit = bitByPermission.get(permissionCode);
+        return bit != null && permissions.get(bit);
+    }
+
+    public static String encode(BitSet bits) {
+        return B64.encodeToString(bits.toByteArray());
+    }
+
+    public static BitSet decode(String encoded) {
+        return BitSet.valueOf(B64D.decode(encoded));
+    }
+
+    private static Map<String, Integer> indexOf(List<String> permissions) {
+        Map<String, Integer> index = new HashMap<>(permissions.size() * 2);
+        for (int i = 0; i < permissions.size(); i++) index.put(permissions.get(i), i);
+        return Map.copyOf(index);
+    }
+
+    private static String hash(List<String> permissions, Map<String, String> roles) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            permissions.forEach(p -> md.update((p + "\n").getBytes(StandardCharsets.UTF_8)));
+            roles.forEach((r, b) -> md.update((r + "=" + b + "\n").getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(md.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.saas.common.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Copia local de la {@link PermissionMatrix} vigente. La alimenta
+ * {@link PermissionMatrixListener} desde el topic compactado
+ * {@code permission.matrix}; hasta leer el snapshot vigente (al arrancar) esta
+ * vacia y los chequeos por permiso niegan.
+ */
+@Slf4j
+@Component
+public class PermissionMatrixHolder {
+
+    private volatile PermissionMatrix current;
+
+    public Optional<PermissionMatrix> current() {
+        return Optional.ofNullable(current);
+    }
+
+    public void apply(PermissionMatrixSnapshot snapshot) {
+        PermissionMatrix before = current;
+        if (before != null && Objects.equals(before.version(), snapshot.version())) return;
+        current = PermissionMatrix.from(snapshot);
+        log.info("Matriz de permisos actualizada: version={} permisos={} roles={}",
+                snapshot.version(), snapshot.permissions().size(), snapshot.roles().size());
+    }
+}
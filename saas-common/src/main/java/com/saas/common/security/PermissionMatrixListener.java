@@ -0,0 +1,48 @@
+package com.saas.common.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saas.common.events.EventTypes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantiene {@link PermissionMatrixHolder} desde el topic compactado
+ * {@code permission.matrix} (una particion, key fija: Kafka conserva el
+ * ultimo snapshot).
+ *
+ * La matriz es por instancia: asignacion manual de la particion (sin
+ * membresia de grupo, sin rebalanceos, sin grupos huerfanos por arranque) y
+ * lectura desde el offset 0 en cada arranque. Una instancia recien levantada
+ * aplica la matriz vigente en cuanto arranca el listener, sin esperar al
+ * republish de system-service.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "saas.kafka", name = "enabled", havingValue = "true")
+public class PermissionMatrixListener {
+
+    private final PermissionMatrixHolder holder;
+    private final ObjectMapper mapper;
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(
+                    topic = "${saas.outbox.permission-topic:permission.matrix}",
+                    partitionOffsets = @PartitionOffset(partition = "0", initialOffset = "0")),
+            groupId = "${spring.application.name}-permission-matrix")
+    public void onMessage(String json) {
+        try {
+            JsonNode envelope = mapper.readTree(json);
+            if (!EventTypes.PERMISSION_MATRIX_CHANGED.equals(envelope.path("type").asText())) return;
+            holder.apply(mapper.treeToValue(envelope.path("payload"), PermissionMatrixSnapshot.class));
+        } catch (Exception ex) {
+            log.warn("Snapshot de permisos no aplicable, ignorado: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.saas.common.security;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wire format del evento {@code permission.matrix.changed}.
+ *
+ * @param version     hash del contenido: mismo contenido = misma version (un
+ *                    republish no invalida el claim {@code pv} de los tokens)
+ * @param permissions codigos de permiso; el indice en la lista es el bit
+ * @param roles       codigo de rol -> bitset de permisos (base64url)
+ */
+public record PermissionMatrixSnapshot(String version,
+                                       List<String> permissions,
+                                       Map<String, String> roles) {
+}
@@ -3,6 +3,7 @@ package com.saas.common.security;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.BitSet;
 import java.util.Set;
 import java.util.UUID;
 
@@ -10,7 +11,9 @@ import java.util.UUID;
  * Implementacion ligera de {@link IUserPrincipal} para los servicios
  * downstream (auth-service post-login, system-service).
  *
- * Se construye desde los claims del JWT, sin tocar BD.
+ * Se construye desde los claims del JWT, sin tocar BD. {@code permissions} es
+ * el bitset de permisos efectivos contra la {@link PermissionMatrix} vigente
+ * (null si el servicio aun no recibio la matriz).
  */
 @Getter
 @RequiredArgsConstructor
@@ -19,4 +22,9 @@ public class SimpleJwtPrincipal implements IUserPrincipal {
     private final UUID userId;
     private final String username;
     private final Set<String> roles;
+    private final BitSet permissions;
+
+    public SimpleJwtPrincipal(UUID userId, String username, Set<String> roles) {
+        this(userId, username, roles, null);
+    }
 }
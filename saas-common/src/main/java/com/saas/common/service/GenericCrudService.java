@@ -1,8 +1,9 @@
 package com.saas.common.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.saas.common.audit.AuditAction;
+import com.saas.common.audit.AuditSnapshot;
 import com.saas.common.context.BusinessContext;
+import com.saas.common.dto.CursorPage;
 import com.saas.common.audit.AuditEmitter;
 import com.saas.common.exception.ResourceNotFoundException;
 import com.saas.common.model.BaseDomain;
@@ -101,7 +102,7 @@ public abstract class GenericCrudService<T extends BaseDomain, ID>
         T existing = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(getResourceName(), "Id", id));
         // Congelar el "before" ANTES de mutar existing en applyChanges.
-        JsonNode before = auditEmitter != null ? auditEmitter.snapshot(existing) : null;
+        AuditSnapshot before = auditEmitter != null ? auditEmitter.snapshot(existing) : null;
         onBeforeUpdate(existing, incoming);
         applyChanges(existing, incoming);
         T updated = repository.update(existing);
@@ -130,7 +131,7 @@ public abstract class GenericCrudService<T extends BaseDomain, ID>
         repository.softDeleteById(id);
         log.info("{} eliminado (soft) id={}", getResourceName(), id);
         onAfterDelete(id, snapshot);
-        // Pasamos el dominio (no un JsonNode) para poder derivar aggregateType/id;
+        // Pasamos el dominio (no un AuditSnapshot) para poder derivar aggregateType/id;
         // softDeleteById opera por id en BD y no muta el snapshot en memoria.
         audit(AuditAction.DELETE, snapshot, null);
     }
@@ -139,7 +140,7 @@ public abstract class GenericCrudService<T extends BaseDomain, ID>
     @Transactional
     public void toggleEnabled(ID id, boolean enabled) {
         T entity = getById(id);
-        JsonNode before = auditEmitter != null ? auditEmitter.snapshot(entity) : null;
+        AuditSnapshot before = auditEmitter != null ? auditEmitter.snapshot(entity) : null;
         entity.setEnabled(enabled);
         T updated = repository.update(entity);
         log.info("{} id={} -> Enabled={}", getResourceName(), id, enabled);
@@ -153,6 +154,12 @@ public abstract class GenericCrudService<T extends BaseDomain, ID>
         return repository.findAllPaged(page, size);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<T> findAllAfter(String cursor, int size) {
+        return repository.findAllAfter(cursor, size);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public long count() {
@@ -161,7 +168,7 @@ public abstract class GenericCrudService<T extends BaseDomain, ID>
 
     /**
      * Emite el evento de auditoria. {@code before} puede ser un BaseDomain o un
-     * snapshot {@link JsonNode} ya congelado; {@code after} el estado posterior.
+     * {@link AuditSnapshot} ya congelado; {@code after} el estado posterior.
      * El aggregateType se deriva del nombre simple del dominio (Role -> "role").
      */
     /**
@@ -0,0 +1,121 @@
+package com.saas.common.audit;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditSchemaTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void redactsSensitiveFieldsAtAnyDepth() {
+        Account account = new Account();
+        account.name = "ana";
+        account.password = "top";
+        account.credentials.token = "abc";
+        account.credentials.label = "main";
+        account.keys.add(new Credentials("k1", "old"));
+        account.extra.put("apiKey", "xyz");
+        account.extra.put("note", "ok");
+
+        AuditSnapshot snap = snapshot(account);
+
+        assertThat(snap.get("password")).isEqualTo(AuditSchema.MASK);
+        JsonNode credentials = (JsonNode) snap.get("credentials");
+        assertThat(credentials.get("token").asText()).isEqualTo(AuditSchema.MASK);
+        assertThat(credentials.get("label").asText()).isEqualTo("main");
+        JsonNode keys = (JsonNode) snap.get("keys");
+        assertThat(keys.get(0).get("token").asText()).isEqualTo(AuditSchema.MASK);
+        JsonNode extra = (JsonNode) snap.get("extra");
+        assertThat(extra.get("apiKey").asText()).isEqualTo(AuditSchema.MASK);
+        assertThat(extra.get("note").asText()).isEqualTo("ok");
+    }
+
+    @Test
+    void usesJacksonPropertyNamesAndIgnorals() {
+        AuditSchema schema = new AuditSchema(Account.class, mapper);
+
+        assertThat(schema.indexOf("display_name")).isGreaterThanOrEqualTo(0);
+        assertThat(schema.indexOf("name")).isEqualTo(-1);
+        assertThat(schema.indexOf("internal")).isEqualTo(-1);
+    }
+
+    @Test
+    void beforeIsNotAffectedByNestedMutation() {
+        Account account = new Account();
+        account.credentials.label = "main";
+        account.keys.add(new Credentials("k1", "a"));
+
+        AuditSnapshot before = snapshot(account);
+        account.credentials.label = "backup";
+        account.keys.get(0).label = "b";
+        AuditSnapshot after = snapshot(account);
+
+        assertThat(before.get("credentials")).isNotEqualTo(after.get("credentials"));
+        assertThat(before.get("keys")).isNotEqualTo(after.get("keys"));
+        assertThat(((JsonNode) before.get("credentials")).get("label").asText()).isEqualTo("main");
+    }
+
+    private AuditSnapshot snapshot(Object o) {
+        AuditSchema schema = new AuditSchema(o.getClass(), mapper);
+        return new AuditSnapshot(schema, schema.read(o));
+    }
+
+    static class Credentials {
+        public String token;
+        public String label;
+
+        Credentials() {
+        }
+
+        Credentials(String token, String label) {
+            this.token = token;
+            this.label = label;
+        }
+    }
+
+    static class Account {
+        @JsonProperty("display_name")
+        String name;
+        String password;
+        String internal = "x";
+        Credentials credentials = new Credentials();
+        List<Credentials> keys = new ArrayList<>();
+        Map<String, String> extra = new LinkedHashMap<>();
+
+        public String getName() {
+            return name;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        @JsonIgnore
+        public String getInternal() {
+            return internal;
+        }
+
+        public Credentials getCredentials() {
+            return credentials;
+        }
+
+        public List<Credentials> getKeys() {
+            return keys;
+        }
+
+        public Map<String, String> getExtra() {
+            return extra;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.saas.common.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.saas.common.events.EventEnvelope;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxEnvelopeWriterTest {
+
+    private static final String PRODUCER = "auth-service";
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final OutboxEnvelopeWriter writer = new OutboxEnvelopeWriter(mapper);
+
+    @Test
+    void matchesEnvelopeSerialization() throws Exception {
+        OutboxEvent event = event("{\"id\":\"7\",\"name\":\"Ana\",\"roles\":[\"ADMIN\"],\"meta\":{\"n\":1}}");
+        event.setBusinessId(UUID.randomUUID());
+
+        assertSameJson(event);
+    }
+
+    @Test
+    void omitsNullBusinessId() throws Exception {
+        OutboxEvent event = event("{\"id\":\"7\"}");
+
+        JsonNode json = assertSameJson(event);
+        assertThat(json.has("businessId")).isFalse();
+    }
+
+    @Test
+    void splicesNonObjectPayloads() throws Exception {
+        assertSameJson(event("[1,2,3]"));
+        assertSameJson(event("\"texto\""));
+        assertSameJson(event("42"));
+    }
+
+    /** Compara contra el camino anterior: readTree(payload) -> EventEnvelope -> writeValueAsString. */
+    private JsonNode assertSameJson(OutboxEvent event) throws Exception {
+        JsonNode streamed = mapper.readTree(writer.write(event, PRODUCER));
+        JsonNode legacy = mapper.readTree(mapper.writeValueAsString(legacyEnvelope(event)));
+
+        assertThat(streamed).isEqualTo(legacy);
+        assertThat(fieldNames(streamed)).containsExactlyElementsOf(fieldNames(legacy));
+        return streamed;
+    }
+
+    private EventEnvelope legacyEnvelope(OutboxEvent e) throws Exception {
+        return EventEnvelope.builder()
+                .eventId(e.getEventId())
+                .type(e.getEventType())
+                .version(e.getVersion())
+                .businessId(e.getBusinessId())
+                .aggregateId(e.getAggregateId())
+                .aggregateType(e.getAggregateType())
+                .occurredAt(e.getCreatedAt())
+                .producer(PRODUCER)
+                .payload(mapper.readTree(e.getPayload()))
+                .build();
+    }
+
+    private static OutboxEvent event(String payload) {
+        return OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .eventId(UUID.randomUUID())
+                .aggregateType("user")
+                .aggregateId(UUID.randomUUID())
+                .eventType("user.updated")
+                .version(2)
+                .payload(payload)
+                .createdAt(Instant.parse("2025-03-01T10:15:30.123456Z"))
+                .build();
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,69 @@
+package com.saas.common.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionMatrixTest {
+
+    @Test
+    void roundTripResolvesEffectivePermissions() {
+        Map<String, Set<String>> table = new LinkedHashMap<>();
+        table.put("ADMIN", Set.of("users.read", "users.write", "roles.write"));
+        table.put("VIEWER", Set.of("users.read"));
+        table.put("BILLING", Set.of("invoices.read"));
+
+        PermissionMatrix matrix = PermissionMatrix.from(PermissionMatrix.compile(table));
+
+        BitSet viewer = matrix.permissionsOf(List.of("VIEWER"));
+        assertThat(matrix.has(viewer, "users.read")).isTrue();
+        assertThat(matrix.has(viewer, "users.write")).isFalse();
+
+        BitSet combined = matrix.permissionsOf(List.of("VIEWER", "BILLING"));
+        assertThat(matrix.has(combined, "users.read")).isTrue();
+        assertThat(matrix.has(combined, "invoices.read")).isTrue();
+        assertThat(matrix.has(combined, "roles.write")).isFalse();
+
+        BitSet admin = PermissionMatrix.decode(PermissionMatrix.encode(matrix.permissionsOf(List.of("ADMIN"))));
+        assertThat(matrix.has(admin, "users.write")).isTrue();
+        assertThat(matrix.has(admin, "roles.write")).isTrue();
+        assertThat(matrix.has(admin, "invoices.read")).isFalse();
+    }
+
+    @Test
+    void versionIsStableWhenInputIsReordered() {
+        Map<String, Set<String>> a = new LinkedHashMap<>();
+        a.put("ADMIN", new LinkedHashSet<>(List.of("users.read", "users.write")));
+        a.put("VIEWER", new LinkedHashSet<>(List.of("users.read")));
+
+        Map<String, Set<String>> b = new LinkedHashMap<>();
+        b.put("VIEWER", new LinkedHashSet<>(List.of("users.read")));
+        b.put("ADMIN", new LinkedHashSet<>(List.of("users.write", "users.read")));
+
+        PermissionMatrixSnapshot first = PermissionMatrix.compile(a);
+        PermissionMatrixSnapshot second = PermissionMatrix.compile(b);
+
+        assertThat(second.version()).isEqualTo(first.version());
+        assertThat(second.roles()).isEqualTo(first.roles());
+
+        b.get("VIEWER").add("users.write");
+        assertThat(PermissionMatrix.compile(b).version()).isNotEqualTo(first.version());
+    }
+
+    @Test
+    void unknownPermissionOrRoleIsDenied() {
+        PermissionMatrix matrix = PermissionMatrix.from(
+                PermissionMatrix.compile(Map.of("ADMIN", Set.of("users.read"))));
+
+        BitSet admin = matrix.permissionsOf(List.of("ADMIN"));
+        assertThat(matrix.has(admin, "users.delete")).isFalse();
+        assertThat(matrix.permissionsOf(List.of("GHOST")).isEmpty()).isTrue();
+    }
+}
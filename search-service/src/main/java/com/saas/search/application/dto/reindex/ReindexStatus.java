@@ -0,0 +1,39 @@
+package com.saas.search.application.dto.reindex;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Foto del ultimo reindex (en curso o terminado) para
+ * {@code GET /search/admin/reindex}.
+ *
+ * @param trigger    {@code startup} o {@code admin}
+ * @param running    {@code true} mientras alguna entidad sigue cargando
+ * @param entities   progreso por alias, en el orden en que se procesan
+ */
+public record ReindexStatus(
+        String trigger,
+        Instant startedAt,
+        Instant finishedAt,
+        boolean running,
+        List<EntityStatus> entities) {
+
+    /**
+     * Progreso de un alias.
+     *
+     * @param state          PENDING, LOADING, SWAPPED, SKIPPED o FAILED
+     * @param index          indice fisico nuevo (null hasta crearlo)
+     * @param total          suma de los /count de sus fuentes
+     * @param docsPerSecond  throughput medio de la carga (indexados / segundos)
+     */
+    public record EntityStatus(
+            String alias,
+            String state,
+            String index,
+            long total,
+            long indexed,
+            long failed,
+            long docsPerSecond,
+            long elapsedMs,
+            String error) {}
+}
@@ -2,6 +2,9 @@ package com.saas.search.application.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saas.common.dto.CursorPage;
+import com.saas.search.application.dto.reindex.ReindexStatus;
+import com.saas.search.application.dto.reindex.ReindexStatus.EntityStatus;
 import com.saas.search.domain.document.BaseDocument;
 import com.saas.search.domain.document.LocationDocument;
 import com.saas.search.domain.document.RoleDocument;
@@ -11,8 +14,15 @@ import com.saas.search.domain.constants.Entities;
 import com.saas.search.infrastructure.client.AuthInternalClient;
 import com.saas.search.infrastructure.client.SystemInternalClient;
 import com.saas.search.infrastructure.client.ThirdpartyInternalClient;
+import com.saas.search.infrastructure.elasticsearch.BulkDocumentWriter;
+import com.saas.search.infrastructure.elasticsearch.BulkDocumentWriter.Failure;
 import com.saas.search.infrastructure.elasticsearch.IndexNames;
-import lombok.RequiredArgsConstructor;
+import com.saas.search.infrastructure.elasticsearch.VersionedIndexManager;
+import com.saas.search.infrastructure.kafka.DocumentWrite;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -20,23 +30,35 @@ import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
-import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
- * Reindex completo desde fuentes (auth, system) hacia Elasticsearch.
+ * Reindex completo desde fuentes (auth, system, thirdparty) hacia Elasticsearch,
+ * sin downtime de lectura.
  *
- * Se dispara al arrancar si {@code saas.search.reindex.enabled=true}.
+ * Se dispara al arrancar si {@code saas.search.reindex.enabled=true}, o a mano
+ * con {@code POST /search/admin/reindex}.
  *
  * {@code saas.search.reindex.entities} controla que se reindexa:
  *
@@ -44,15 +66,36 @@ import java.util.stream.Collectors;
  *   users,roles: lista separada por coma de entidades especificas.
  *
  *
- * Estrategia: paginado por 500 registros. Cada batch se trae via Feign
- * y se indexa en bulk en ES.
+ * Estrategia por alias (ver {@code IndexBootstrap}):
+ *
+ *   1. Crea {@code <alias>_v<n+1>} con refresh desactivado y 0 replicas y lo
+ *      marca {@code <alias>_loading}. Desde ahi los consumers de TODAS las
+ *      instancias escriben cada evento en el alias y en el indice nuevo
+ *      (upserts y borrados, versionados por {@code docVersion}). Antes de leer
+ *      las fuentes se espera a que todas vean la marca.
+ *   2. El hilo del reindex recorre las fuentes via Feign por cursor (keyset:
+ *      O(n) en la BD) y cada pagina se manda como un {@code _bulk} a un pool
+ *      de {@code bulk-parallelism} hilos: mientras ES indexa la pagina N ya
+ *      se esta pidiendo la N+1. Si el pool y su cola
+ *      estan llenos el propio fetcher indexa (backpressure, memoria acotada).
+ *      Cada documento se escribe con version {@code inicio del fetch -
+ *      version-margin-seconds}: un evento posterior a la foto de la BD (incluido
+ *      un borrado, que deja tombstone) le gana aunque llegue antes que el loader.
+ *   3. Restaura settings, hace el swap atomico del alias (quitando la marca) y
+ *      borra el viejo. No hace falta pausar consumers ni copiar del viejo: el
+ *      indice nuevo ya tiene todo lo que llego por Kafka desde el paso 1.
+ *
+ * Si falla la lectura de una fuente, el indice nuevo se borra y el alias sigue
+ * en el viejo: las busquedas nunca ven un indice a medio cargar.
+ *
+ * Metricas: {@code search.reindex.documents{alias,outcome}} y
+ * {@code search.reindex.duration{alias,result}}; el progreso y el throughput
+ * se ven en el log y en {@code GET /search/admin/reindex}.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ReindexService {
 
-    private static final int PAGE_SIZE = 500;
     private static final Set<String> ALL_ENTITIES = Set.of(
             Entities.ROLE_ENTITY,
             Entities.USER_ENTITY,
@@ -75,16 +118,70 @@ public class ReindexService {
     private final AuthInternalClient authClient;
     private final SystemInternalClient systemClient;
     private final ThirdpartyInternalClient thirdpartyClient;
-    private final ElasticsearchOperations ops;
+    private final BulkDocumentWriter writer;
     private final ObjectMapper mapper;
     private final IndexNames indexNames;
     private final DiscoveryClient discoveryClient;
-
-    @Value("${saas.search.reindex.enabled:false}")
-    private boolean reindexEnabled;
-
-    @Value("${saas.search.reindex.entities:all}")
-    private String entitiesProperty;
+    private final VersionedIndexManager indexManager;
+    private final MeterRegistry registry;
+
+    private final boolean reindexEnabled;
+    private final String entitiesProperty;
+    private final int pageSize;
+    private final Duration versionMargin;
+    private final long loadingRefreshMs;
+
+    private final ThreadPoolExecutor bulkExecutor;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "reindex-runner");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Run current;
+
+    public ReindexService(AuthInternalClient authClient,
+                          SystemInternalClient systemClient,
+                          ThirdpartyInternalClient thirdpartyClient,
+                          BulkDocumentWriter writer,
+                          ObjectMapper mapper,
+                          IndexNames indexNames,
+                          DiscoveryClient discoveryClient,
+                          VersionedIndexManager indexManager,
+                          MeterRegistry registry,
+                          @Value("${saas.search.reindex.enabled:false}") boolean reindexEnabled,
+                          @Value("${saas.search.reindex.entities:all}") String entitiesProperty,
+                          @Value("${saas.search.reindex.page-size:500}") int pageSize,
+                          @Value("${saas.search.reindex.bulk-parallelism:4}") int bulkParallelism,
+                          @Value("${saas.search.reindex.bulk-queue-capacity:8}") int bulkQueueCapacity,
+                          @Value("${saas.search.reindex.version-margin-seconds:60}") long versionMarginSeconds,
+                          @Value("${saas.search.reindex.loading-refresh-ms:1000}") long loadingRefreshMs) {
+        this.authClient = authClient;
+        this.systemClient = systemClient;
+        this.thirdpartyClient = thirdpartyClient;
+        this.writer = writer;
+        this.mapper = mapper;
+        this.indexNames = indexNames;
+        this.discoveryClient = discoveryClient;
+        this.indexManager = indexManager;
+        this.registry = registry;
+        this.reindexEnabled = reindexEnabled;
+        this.entitiesProperty = entitiesProperty;
+        this.pageSize = pageSize;
+        this.versionMargin = Duration.ofSeconds(versionMarginSeconds);
+        this.loadingRefreshMs = loadingRefreshMs;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.bulkExecutor = new ThreadPoolExecutor(bulkParallelism, bulkParallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(bulkQueueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "reindex-bulk-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
 
     @EventListener(ApplicationReadyEvent.class)
     @Order(Ordered.LOWEST_PRECEDENCE)  // ← debe correr DESPUES que IndexBootstrap haya creado indices/aliases
@@ -93,9 +190,67 @@ public class ReindexService {
             log.info("Reindex en startup DESACTIVADO (saas.search.reindex.enabled=false)");
             return;
         }
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            run("startup", parseEntities(entitiesProperty));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Lanza un reindex en segundo plano (endpoint admin).
+     *
+     * @param entities lista separada por coma o {@code all}; null = la property
+     * @return {@code false} si ya hay un reindex en curso en esta instancia
+     */
+    public boolean trigger(String entities) {
+        if (!running.compareAndSet(false, true)) return false;
+        Set<String> selected = parseEntities(entities != null ? entities : entitiesProperty);
+        try {
+            Run run = prepare("admin", selected);
+            runner.execute(() -> {
+                try {
+                    execute(run, selected);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException ex) {
+            running.set(false);
+            throw ex;
+        }
+        return true;
+    }
+
+    /** Ultimo reindex de esta instancia, o null si nunca corrio. */
+    public ReindexStatus status() {
+        Run run = current;
+        return run == null ? null : run.snapshot(running.get());
+    }
 
-        Set<String> entities = parseEntities(entitiesProperty);
-        log.info("Reindex INICIADO. Entidades: {}", entities);
+    private void run(String trigger, Set<String> entities) {
+        execute(prepare(trigger, entities), entities);
+    }
+
+    /** Arma los planes y publica el {@link Run} (visible en status desde ya). */
+    private Run prepare(String trigger, Set<String> entities) {
+        List<Plan> plans = new ArrayList<>();
+        for (String entity : entities) {
+            Plan plan = planFor(entity);
+            if (plan == null) {
+                log.warn("Entidad desconocida en reindex: '{}' (ignorada)", entity);
+            } else {
+                plans.add(plan);
+            }
+        }
+        Run run = new Run(trigger, plans);
+        current = run;
+        return run;
+    }
+
+    private void execute(Run run, Set<String> entities) {
+        log.info("Reindex INICIADO ({}). Entidades: {}", run.trigger, entities);
 
         // Esperar a que Eureka tenga registradas las instancias necesarias.
         // Sin esto, search-service arranca antes que su DiscoveryClient haga
@@ -105,160 +260,222 @@ public class ReindexService {
                 .map(ENTITY_TO_SERVICE::get)
                 .filter(java.util.Objects::nonNull)
                 .collect(Collectors.toSet());
+
         if (!waitForServices(requiredServices)) {
             log.warn("Reindex ABORTADO: timeout esperando services en Eureka. " +
-                    "Activa el reindex manual con un POST al endpoint admin (futuro) " +
-                    "o reinicia search-service cuando auth/system esten arriba.");
+                    "Relanzalo con POST /search/admin/reindex cuando auth/system esten arriba.");
+            run.progress.forEach(p -> p.fail("timeout esperando services en Eureka"));
+            run.finishedAt = Instant.now();
             return;
         }
 
-        long startMillis = System.currentTimeMillis();
-
-        for (String entity : entities) {
+        for (int i = 0; i < run.plans.size(); i++) {
+            Plan plan = run.plans.get(i);
+            Progress progress = run.progress.get(i);
             try {
-                switch (entity) {
-                    case Entities.USER_ENTITY -> reindex(
-                            Entities.USER_ENTITY,
-                            indexNames.users(),
-                            () -> authClient.countUsers().getOrDefault("total", 0L),
-                            authClient::fetchUsers,
-                            UserDocument.class);
-                    case Entities.ROLE_ENTITY -> reindex(
-                            Entities.ROLE_ENTITY,
-                            indexNames.roles(),
-                            () -> systemClient.countRoles().getOrDefault("total", 0L),
-                            systemClient::fetchRoles,
-                            RoleDocument.class);
-                    case Entities.LOCATION_ENTITY -> reindexLocations();
-                    case Entities.THIRDPARTY_ENTITY -> reindex(
-                            Entities.THIRDPARTY_ENTITY,
-                            indexNames.thirdParties(),
-                            () -> thirdpartyClient.countThirdParties().getOrDefault("total", 0L),
-                            thirdpartyClient::fetchThirdParties,
-                            ThirdPartyDocument.class);
-                    default -> log.warn("Entidad desconocida en reindex: '{}' (ignorada)", entity);
-                }
+                reindex(plan, progress);
             } catch (Exception ex) {
-                log.error("Reindex de {} fallo: {}", entity, ex.getMessage(), ex);
+                progress.fail(ex.getMessage());
+                log.error("Reindex de {} fallo: {}", plan.alias(), ex.getMessage(), ex);
             }
         }
 
-        log.info("Reindex FINALIZADO en {} ms", System.currentTimeMillis() - startMillis);
+        run.finishedAt = Instant.now();
+        log.info("Reindex FINALIZADO en {} ms",
+                Duration.between(run.startedAt, run.finishedAt).toMillis());
+    }
+
+    private Plan planFor(String entity) {
+        return switch (entity) {
+            case Entities.USER_ENTITY -> new Plan(indexNames.users(), UserDocument.class, List.of(
+                    new Source(Entities.USER_ENTITY,
+                            () -> authClient.countUsers().getOrDefault("total", 0L),
+                            authClient::fetchUsers)));
+            case Entities.ROLE_ENTITY -> new Plan(indexNames.roles(), RoleDocument.class, List.of(
+                    new Source(Entities.ROLE_ENTITY,
+                            () -> systemClient.countRoles().getOrDefault("total", 0L),
+                            systemClient::fetchRoles)));
+            case Entities.LOCATION_ENTITY -> locationsPlan();
+            case Entities.THIRDPARTY_ENTITY -> new Plan(indexNames.thirdParties(), ThirdPartyDocument.class, List.of(
+                    new Source(Entities.THIRDPARTY_ENTITY,
+                            () -> thirdpartyClient.countThirdParties().getOrDefault("total", 0L),
+                            thirdpartyClient::fetchThirdParties)));
+            default -> null;
+        };
     }
 
     /**
-     * Pipeline generico de reindex paginado para cualquier entidad.
+     * Location es un solo indice ES (alias {@code locations}) pero 4 fuentes
+     * en MySQL: country, department, municipality, neighborhood. Las 4 cargan
+     * el MISMO indice nuevo y el swap se hace una vez, al final.
      *
-     * @param entityLabel       texto para logs ("users", "roles")
-     * @param indexAlias        alias destino en ES
-     * @param countFetcher      como obtener el total a indexar (Feign /count)
-     * @param batchFetcher      como obtener una pagina (Feign /all?page,size)
-     * @param documentClass     clase del documento ES al que mapear
+     * <p>El system-service serializa los payloads denormalizados (con la
+     * cadena padre ya resuelta) en {@code LocationReindexPayload}, cuyos
+     * campos coinciden con {@code LocationDocument} — asi el pipeline
+     * generico hace el mapeo directo via Jackson.
      */
-    private <D extends BaseDocument> void reindex(
-            String entityLabel,
-            String indexAlias,
-            Supplier<Long> countFetcher,
-            BiFunction<Integer, Integer, List<JsonNode>> batchFetcher,
-            Class<D> documentClass) {
-
-        long total;
-        try {
-            total = countFetcher.get();
-        } catch (Exception ex) {
-            log.error("Reindex {}: no se pudo obtener total (servicio caido?). Aborta. err={}",
-                    entityLabel, ex.getMessage());
-            return;
+    private Plan locationsPlan() {
+        return new Plan(indexNames.locations(), LocationDocument.class, List.of(
+                new Source("locations:countries",
+                        () -> systemClient.countCountries().getOrDefault("total", 0L),
+                        systemClient::fetchCountries),
+                new Source("locations:departments",
+                        () -> systemClient.countDepartments().getOrDefault("total", 0L),
+                        systemClient::fetchDepartments),
+                new Source("locations:municipalities",
+                        () -> systemClient.countMunicipalities().getOrDefault("total", 0L),
+                        systemClient::fetchMunicipalities),
+                new Source("locations:neighborhoods",
+                        () -> systemClient.countNeighborhoods().getOrDefault("total", 0L),
+                        systemClient::fetchNeighborhoods)));
+    }
+
+    /**
+     * Reindex de un alias: carga en un indice nuevo y swap. Cualquier excepcion
+     * antes del swap deja el alias intacto y borra el indice nuevo.
+     */
+    private void reindex(Plan plan, Progress progress) throws Exception {
+        String alias = plan.alias();
+
+        long total = 0;
+        for (Source source : plan.sources()) {
+            total += source.count().get();
         }
+        progress.total = total;
 
         if (total == 0) {
-            log.info("Reindex {}: 0 registros, nada que hacer", entityLabel);
+            // Un /count en 0 casi siempre es una fuente vacia por error: no se
+            // cambia un indice con datos por uno vacio.
+            progress.state = "SKIPPED";
+            log.info("Reindex {}: 0 registros, nada que hacer", alias);
             return;
         }
 
-        log.info("Reindex {}: {} registros a indexar", entityLabel, total);
+        log.info("Reindex {}: {} registros a indexar", alias, total);
+        Timer.Sample sample = Timer.start(registry);
+        String index = indexManager.createLoadIndex(alias);
+        progress.index = index;
+        progress.state = "LOADING";
+        progress.start();
 
-        IndexCoordinates index = IndexCoordinates.of(indexAlias);
-        Instant now = Instant.now();
-        long indexed = 0;
-        long failed = 0;
-        int page = 0;
+        try {
+            awaitLoadingVisible();
+            for (Source source : plan.sources()) {
+                load(source, plan.documentClass(), index, progress);
+            }
+            indexManager.finishLoad(alias, index);
 
-        while (true) {
-            List<JsonNode> batch = batchFetcher.apply(page, PAGE_SIZE);
-            if (batch == null || batch.isEmpty()) break;
+            List<String> previous = indexManager.swapAlias(alias, index);
+            previous.forEach(indexManager::delete);
 
-            for (JsonNode payload : batch) {
-                try {
-                    D doc = mapper.treeToValue(payload, documentClass);
-                    UUID id = UUID.fromString(payload.get("id").asText());
-                    doc.setId(id.toString());
-                    doc.setUpdatedAt(now);
-                    if (doc.getCreatedAt() == null) {
-                        doc.setCreatedAt(now);
-                    }
-                    doc.setDocVersion(now.toEpochMilli());
-                    ops.save(doc, index);
-                    indexed++;
-                } catch (Exception ex) {
-                    failed++;
-                    String id = payload.has("id") ? payload.get("id").asText() : "?";
-                    log.warn("Reindex {}: fallo id={} err={} (continuando)",
-                            entityLabel, id, ex.getMessage());
-                }
-            }
+            progress.state = "SWAPPED";
+            progress.stop();
+            sample.stop(durationTimer(alias, "swapped"));
+            logFinished(alias, progress);
+        } catch (Exception ex) {
+            progress.stop();
+            sample.stop(durationTimer(alias, "failed"));
+            indexManager.delete(index);
+            throw ex;
+        }
+    }
 
-            log.info("Reindex {}: {}/{} indexados", entityLabel, indexed, total);
+    /**
+     * Recorre una fuente por cursor en este hilo y manda cada pagina al pool de
+     * bulk. Espera a que terminen todos los bulks de la fuente antes de volver.
+     * Un fallo de Feign aborta (el indice quedaria incompleto); un documento
+     * que no mapea o que ES rechaza solo se cuenta como fallido.
+     */
+    private <D extends BaseDocument> void load(Source source, Class<D> documentClass,
+                                               String index, Progress progress) {
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        try {
+            String cursor = null;
+            do {
+                long version = Instant.now().minus(versionMargin).toEpochMilli();
+                CursorPage<JsonNode> page = source.fetch().apply(cursor, pageSize);
+                if (page == null || page.items() == null || page.items().isEmpty()) break;
+
+                List<JsonNode> batch = page.items();
+                pending.add(CompletableFuture.runAsync(
+                        () -> bulk(source.label(), batch, documentClass, index, version, progress), bulkExecutor));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+        } finally {
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        }
+    }
 
-            if (batch.size() < PAGE_SIZE) break;
-            page++;
+    /**
+     * Un {@code _bulk} de la pagina con {@code version} (tomada ANTES del fetch).
+     * El 409 de un documento que un evento ya dejo mas nuevo (o borro) cuenta
+     * como indexado: el evento gana, que es lo correcto.
+     */
+    private <D extends BaseDocument> void bulk(String label, List<JsonNode> batch, Class<D> documentClass,
+                                               String index, long version, Progress progress) {
+        Instant now = Instant.now();
+        List<DocumentWrite> writes = new ArrayList<>(batch.size());
+        int failed = 0;
+
+        for (JsonNode payload : batch) {
+            try {
+                D doc = mapper.treeToValue(payload, documentClass);
+                UUID id = UUID.fromString(payload.get("id").asText());
+                doc.setId(id.toString());
+                doc.setUpdatedAt(now);
+                if (doc.getCreatedAt() == null) {
+                    doc.setCreatedAt(now);
+                }
+                doc.setDocVersion(version);
+                writes.add(DocumentWrite.index(index, doc, null));
+            } catch (Exception ex) {
+                failed++;
+                String id = payload.has("id") ? payload.get("id").asText() : "?";
+                log.warn("Reindex {}: fallo id={} err={} (continuando)", label, id, ex.getMessage());
+            }
         }
 
-        if (failed > 0) {
-            log.warn("Reindex {} TERMINADO: {} indexados, {} fallidos (revisar warnings)",
-                    entityLabel, indexed, failed);
-        } else {
-            log.info("Reindex {} TERMINADO: {} indexados, sin fallos", entityLabel, indexed);
+        List<Failure> rejected = writer.writeAll(writes);
+        if (!rejected.isEmpty()) {
+            failed += rejected.size();
+            log.warn("Reindex {}: {} documentos rechazados por ES en el bulk, ej={} {} (continuando)",
+                    label, rejected.size(), rejected.get(0).write().id(), rejected.get(0).reason());
         }
+
+        progress.record(batch.size() - failed, failed);
+        log.info("Reindex {}: {}/{} indexados ({}%, {} docs/s)", label, progress.indexed.get(),
+                progress.total, progress.percent(), progress.docsPerSecond());
     }
 
     /**
-     * Location es un solo indice ES (alias {@code locations}) pero 4 fuentes
-     * en MySQL: country, department, municipality, neighborhood. Hace 4
-     * sub-pasos contra system-service, todos volcando al mismo alias.
-     *
-     * <p>El system-service serializa los payloads denormalizados (con la
-     * cadena padre ya resuelta) en {@code LocationReindexPayload}, cuyos
-     * campos coinciden con {@code LocationDocument} — asi el pipeline
-     * generico hace el mapeo directo via Jackson.
+     * Espera a que todas las instancias vean la marca {@code <alias>_loading}
+     * (su cache dura {@code loading-refresh-ms}). Un evento aplicado solo al
+     * indice viejo fue confirmado en la BD antes de este punto, asi que la
+     * lectura de las fuentes ya lo incluye.
      */
-    private void reindexLocations() {
-        String alias = indexNames.locations();
-        safeReindex("locations:countries",      alias,
-                () -> systemClient.countCountries().getOrDefault("total", 0L),
-                systemClient::fetchCountries);
-        safeReindex("locations:departments",    alias,
-                () -> systemClient.countDepartments().getOrDefault("total", 0L),
-                systemClient::fetchDepartments);
-        safeReindex("locations:municipalities", alias,
-                () -> systemClient.countMunicipalities().getOrDefault("total", 0L),
-                systemClient::fetchMunicipalities);
-        safeReindex("locations:neighborhoods",  alias,
-                () -> systemClient.countNeighborhoods().getOrDefault("total", 0L),
-                systemClient::fetchNeighborhoods);
+    private void awaitLoadingVisible() throws InterruptedException {
+        Thread.sleep(2 * loadingRefreshMs);
     }
 
-    /** Wrap reindex() para que el fallo de un sub-pass no aborte los siguientes. */
-    private void safeReindex(String label, String alias,
-                              Supplier<Long> countFetcher,
-                              BiFunction<Integer, Integer, List<JsonNode>> batchFetcher) {
-        try {
-            reindex(label, alias, countFetcher, batchFetcher, LocationDocument.class);
-        } catch (Exception ex) {
-            log.error("Reindex de {} fallo: {}", label, ex.getMessage(), ex);
+    private void logFinished(String alias, Progress progress) {
+        if (progress.failed.get() > 0) {
+            log.warn("Reindex {} TERMINADO: {} indexados, {} fallidos en {} ms, {} docs/s (revisar warnings)",
+                    alias, progress.indexed.get(), progress.failed.get(), progress.elapsedMs(),
+                    progress.docsPerSecond());
+        } else {
+            log.info("Reindex {} TERMINADO: {} indexados, sin fallos en {} ms, {} docs/s",
+                    alias, progress.indexed.get(), progress.elapsedMs(), progress.docsPerSecond());
         }
     }
 
+    private Timer durationTimer(String alias, String result) {
+        return Timer.builder("search.reindex.duration")
+                .description("Duracion del reindex de un alias (carga + swap)")
+                .tag("alias", alias)
+                .tag("result", result)
+                .register(registry);
+    }
+
     private Set<String> parseEntities(String prop) {
         if (prop == null || prop.isBlank() || "all".equalsIgnoreCase(prop.trim())) {
             return ALL_ENTITIES;
@@ -267,7 +484,7 @@ public class ReindexService {
                 .map(String::trim)
                 .map(String::toLowerCase)
                 .filter(s -> !s.isEmpty())
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
     /**
@@ -305,4 +522,108 @@ public class ReindexService {
         }
         return false;
     }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+        bulkExecutor.shutdown();
+    }
+
+    /** Un alias destino y las fuentes que lo llenan. */
+    private record Plan(String alias, Class<? extends BaseDocument> documentClass, List<Source> sources) {}
+
+    /**
+     * Una fuente paginada.
+     *
+     * @param label  texto para logs ("users", "locations:countries")
+     * @param count  como obtener el total a indexar (Feign /count)
+     * @param fetch  como obtener una pagina (Feign /all?cursor,size)
+     */
+    private record Source(String label, Supplier<Long> count,
+                          BiFunction<String, Integer, CursorPage<JsonNode>> fetch) {}
+
+    /** Estado de una ejecucion completa. */
+    private final class Run {
+        final String trigger;
+        final Instant startedAt = Instant.now();
+        volatile Instant finishedAt;
+        final List<Plan> plans;
+        final List<Progress> progress;
+
+        Run(String trigger, List<Plan> plans) {
+            this.trigger = trigger;
+            this.plans = plans;
+            this.progress = plans.stream().map(p -> new Progress(p.alias())).toList();
+        }
+
+        ReindexStatus snapshot(boolean running) {
+            return new ReindexStatus(trigger, startedAt, finishedAt, running && finishedAt == null,
+                    progress.stream().map(Progress::snapshot).toList());
+        }
+    }
+
+    /** Contadores de un alias; los bulks los actualizan desde varios hilos. */
+    private final class Progress {
+        final String alias;
+        final AtomicLong indexed = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final Counter indexedCounter;
+        final Counter failedCounter;
+        volatile String state = "PENDING";
+        volatile String index;
+        volatile String error;
+        volatile long total;
+        volatile long startNanos;
+        volatile long stopNanos;
+
+        Progress(String alias) {
+            this.alias = alias;
+            this.indexedCounter = documentsCounter(alias, "indexed");
+            this.failedCounter = documentsCounter(alias, "failed");
+        }
+
+        void start() { startNanos = System.nanoTime(); }
+
+        void stop() { if (startNanos > 0 && stopNanos == 0) stopNanos = System.nanoTime(); }
+
+        void fail(String message) {
+            state = "FAILED";
+            error = message;
+        }
+
+        void record(long ok, long ko) {
+            indexed.addAndGet(ok);
+            failed.addAndGet(ko);
+            indexedCounter.increment(ok);
+            failedCounter.increment(ko);
+        }
+
+        long elapsedMs() {
+            if (startNanos == 0) return 0;
+            long end = stopNanos > 0 ? stopNanos : System.nanoTime();
+            return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+        }
+
+        long docsPerSecond() {
+            long ms = elapsedMs();
+            return ms == 0 ? 0 : indexed.get() * 1000 / ms;
+        }
+
+        long percent() {
+            return total == 0 ? 0 : Math.min(100, (indexed.get() + failed.get()) * 100 / total);
+        }
+
+        EntityStatus snapshot() {
+            return new EntityStatus(alias, state, index, total, indexed.get(), failed.get(),
+                    docsPerSecond(), elapsedMs(), error);
+        }
+
+        private Counter documentsCounter(String alias, String outcome) {
+            return Counter.builder("search.reindex.documents")
+                    .description("Documentos procesados por el reindex")
+                    .tag("alias", alias)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
 }
@@ -1,17 +1,27 @@
 package com.saas.search.application.service.search;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.saas.search.domain.document.ThirdPartyDocument;
 import com.saas.search.infrastructure.elasticsearch.IndexNames;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.MultiGetItem;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.Criteria;
 import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Busqueda especifica de Terceros.
@@ -26,11 +36,28 @@ import java.util.Map;
 @Service
 public class ThirdPartySearchService extends BaseSearchService<ThirdPartyDocument> {
 
+    private static final String[] CARD_FIELDS = {"fullName", "photoUrl"};
+
     private final IndexNames indexNames;
 
-    public ThirdPartySearchService(ElasticsearchOperations ops, IndexNames indexNames) {
+    /**
+     * Tarjetas ya leidas. La invalida {@code ThirdPartyEventHandler} al indexar
+     * o borrar el tercero; con varias instancias, las demas ven el cambio al
+     * vencer el TTL (corto a proposito). Los ids sin documento no se cachean:
+     * puede ser un tercero recien creado aun no proyectado.
+     */
+    private final Cache<String, PersonCard> cards;
+
+    public ThirdPartySearchService(ElasticsearchOperations ops,
+                                   IndexNames indexNames,
+                                   @Value("${saas.search.person-cards.ttl-seconds:60}") long ttlSeconds,
+                                   @Value("${saas.search.person-cards.max-size:50000}") long maxSize) {
         super(ops);
         this.indexNames = indexNames;
+        this.cards = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
     }
 
     @Override
@@ -56,18 +83,41 @@ public class ThirdPartySearchService extends BaseSearchService<ThirdPartyDocumen
     /**
      * Tarjetas de persona (nombre + foto) en lote, leidas del read model de ES.
      * Sustituye a la lectura directa contra thirdparty-service en los listados.
+     *
+     * Lo que no esta en cache se resuelve con UN solo {@code _mget} filtrando
+     * {@code _source} a nombre y foto (un listado de sucursal = 1 llamada a ES,
+     * no una por empleado).
      */
     public Map<String, PersonCard> cardsByIds(List<String> ids) {
-        Map<String, PersonCard> out = new HashMap<>();
-        IndexCoordinates index = IndexCoordinates.of(indexNames.thirdParties());
-        for (String id : ids) {
-            if (id == null) continue;
-            ThirdPartyDocument doc = ops.get(id, ThirdPartyDocument.class, index);
-            if (doc != null) out.put(id, new PersonCard(doc.getFullName(), doc.getPhotoUrl()));
-        }
+        Set<String> wanted = new LinkedHashSet<>(ids);
+        wanted.remove(null);
+        Map<String, PersonCard> out = new HashMap<>(cards.getAllPresent(wanted));
+        wanted.removeAll(out.keySet());
+        if (wanted.isEmpty()) return out;
+
+        NativeQuery query = NativeQuery.builder()
+                .withIds(wanted)
+                .withSourceFilter(new FetchSourceFilterBuilder().withIncludes(CARD_FIELDS).build())
+                .build();
+        List<MultiGetItem<ThirdPartyDocument>> items =
+                ops.multiGet(query, ThirdPartyDocument.class, IndexCoordinates.of(indexNames.thirdParties()));
+        items.stream()
+                .filter(MultiGetItem::hasItem)
+                .map(MultiGetItem::getItem)
+                .filter(Objects::nonNull)
+                .forEach(doc -> {
+                    PersonCard card = new PersonCard(doc.getFullName(), doc.getPhotoUrl());
+                    cards.put(doc.getId(), card);
+                    out.put(doc.getId(), card);
+                });
         return out;
     }
 
+    /** El tercero cambio o se borro: su tarjeta se vuelve a leer de ES. */
+    public void evictCard(String id) {
+        cards.invalidate(id);
+    }
+
     /**
      * Tercero vinculado a una cuenta. Evita el viaje a la BD transaccional en
      * lecturas de visualizacion (perfil, "mi negocio").
@@ -1,11 +1,11 @@
 package com.saas.search.infrastructure.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.saas.common.dto.CursorPage;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -28,8 +28,8 @@ import java.util.Map;
 public interface AuthInternalClient {
 
     @GetMapping("/internal/users/all")
-    List<JsonNode> fetchUsers(
-            @RequestParam("page") int page,
+    CursorPage<JsonNode> fetchUsers(
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam("size") int size);
 
     @GetMapping("/internal/users/count")
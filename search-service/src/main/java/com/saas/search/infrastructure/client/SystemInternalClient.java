@@ -1,11 +1,11 @@
 package com.saas.search.infrastructure.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.saas.common.dto.CursorPage;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -23,32 +23,42 @@ public interface SystemInternalClient {
 
     // -------- roles --------
     @GetMapping("/internal/roles/all")
-    List<JsonNode> fetchRoles(@RequestParam("page") int page, @RequestParam("size") int size);
+    CursorPage<JsonNode> fetchRoles(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("size") int size);
 
     @GetMapping("/internal/roles/count")
     Map<String, Long> countRoles();
 
     // -------- locations (4 niveles, mismo alias 'locations' en ES) --------
     @GetMapping("/internal/locations/countries/all")
-    List<JsonNode> fetchCountries(@RequestParam("page") int page, @RequestParam("size") int size);
+    CursorPage<JsonNode> fetchCountries(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("size") int size);
 
     @GetMapping("/internal/locations/countries/count")
     Map<String, Long> countCountries();
 
     @GetMapping("/internal/locations/departments/all")
-    List<JsonNode> fetchDepartments(@RequestParam("page") int page, @RequestParam("size") int size);
+    CursorPage<JsonNode> fetchDepartments(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("size") int size);
 
     @GetMapping("/internal/locations/departments/count")
     Map<String, Long> countDepartments();
 
     @GetMapping("/internal/locations/municipalities/all")
-    List<JsonNode> fetchMunicipalities(@RequestParam("page") int page, @RequestParam("size") int size);
+    CursorPage<JsonNode> fetchMunicipalities(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("size") int size);
 
     @GetMapping("/internal/locations/municipalities/count")
     Map<String, Long> countMunicipalities();
 
     @GetMapping("/internal/locations/neighborhoods/all")
-    List<JsonNode> fetchNeighborhoods(@RequestParam("page") int page, @RequestParam("size") int size);
+    CursorPage<JsonNode> fetchNeighborhoods(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("size") int size);
 
     @GetMapping("/internal/locations/neighborhoods/count")
     Map<String, Long> countNeighborhoods();
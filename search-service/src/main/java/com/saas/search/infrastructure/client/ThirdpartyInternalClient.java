@@ -1,11 +1,11 @@
 package com.saas.search.infrastructure.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.saas.common.dto.CursorPage;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.List;
 import java.util.Map;
 
 /** Feign a thirdparty-service (S2S) para el reindex de terceros. */
@@ -17,8 +17,8 @@ import java.util.Map;
 public interface ThirdpartyInternalClient {
 
     @GetMapping("/internal/third-parties/all")
-    List<JsonNode> fetchThirdParties(
-            @RequestParam("page") int page,
+    CursorPage<JsonNode> fetchThirdParties(
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam("size") int size);
 
     @GetMapping("/internal/third-parties/count")
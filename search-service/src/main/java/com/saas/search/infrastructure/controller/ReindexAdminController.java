@@ -0,0 +1,54 @@
+package com.saas.search.infrastructure.controller;
+
+import com.saas.common.dto.ApiResponse;
+import com.saas.search.application.dto.reindex.ReindexStatus;
+import com.saas.search.application.service.ReindexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Reindex manual (solo ADMIN).
+ *
+ *   {@code POST /search/admin/reindex?entities=users,roles}: lanza el reindex
+ *   en segundo plano y responde 202; 409 si ya hay uno en curso.
+ *   {@code GET /search/admin/reindex}: progreso y throughput del ultimo.
+ *
+ * El reindex es por instancia: con varias instancias de search-service basta
+ * con dispararlo en una (el alias es compartido).
+ */
+@RestController
+@RequestMapping("/admin/reindex")
+@RequiredArgsConstructor
+public class ReindexAdminController {
+
+    private final ReindexService reindexService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReindexStatus>> trigger(
+            @RequestParam(required = false) String entities) {
+        if (!reindexService.trigger(entities)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.<ReindexStatus>builder()
+                            .success(false)
+                            .message("Ya hay un reindex en curso")
+                            .data(reindexService.status())
+                            .status(HttpStatus.CONFLICT.value())
+                            .build());
+        }
+        return ResponseEntity.accepted().body(ApiResponse.success(reindexService.status()));
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReindexStatus>> status() {
+        return ResponseEntity.ok(ApiResponse.success(reindexService.status()));
+    }
+}
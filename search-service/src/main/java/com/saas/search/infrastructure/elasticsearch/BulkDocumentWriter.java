@@ -0,0 +1,126 @@
+package com.saas.search.infrastructure.elasticsearch;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import com.saas.search.infrastructure.kafka.DocumentWrite;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aplica {@link DocumentWrite}s en un solo {@code _bulk} (index y delete
+ * mezclados, cualquier alias).
+ *
+ * <p>Cada operacion va con {@code version = docVersion} y
+ * {@code version_type=external_gte}: ES rechaza con 409 la escritura de un
+ * evento mas viejo que el documento (particiones atrasadas). Ese 409 NO es un
+ * fallo: el documento ya esta mas nuevo, asi que cuenta como aplicado.
+ *
+ * <p>GTE y no {@code external}: docVersion es el {@code occurredAt} en millis y
+ * dos eventos distintos del mismo agregado pueden caer en el mismo milisegundo
+ * (p.ej. USER_CREATED + USER_ROLES_CHANGED); con {@code external} el segundo se
+ * perderia como "stale". A igual version se aplica en orden de particion, y
+ * una redelivery reescribe el mismo contenido (sigue siendo idempotente).
+ *
+ * <p>Durante un reindex cada escritura se repite, con la misma version, en los
+ * indices en carga del alias ({@link VersionedIndexManager#loadingIndices}):
+ * el indice nuevo recibe los upserts y borrados de la ventana de carga desde
+ * todas las instancias, no solo desde la que corre el reindex. El borrado de
+ * un documento que el loader aun no cargo da 404 sin error (queda el
+ * tombstone) y no cuenta como fallo.
+ *
+ * <p>El source se serializa con el converter de Spring Data (mismo formato de
+ * fechas, mismo {@code writeTypeHint}) que usa {@code ops.save}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkDocumentWriter {
+
+    private static final int VERSION_CONFLICT = 409;
+
+    private final ElasticsearchClient client;
+    private final ElasticsearchOperations ops;
+    private final VersionedIndexManager indexManager;
+
+    /** Escritura individual (listener por registro). Lanza si ES la rechaza. */
+    public void write(DocumentWrite write) {
+        List<Failure> failures = writeAll(List.of(write));
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("ES rechazo " + write.key() + ": " + failures.get(0).reason());
+        }
+    }
+
+    /**
+     * Manda todas las escrituras en un {@code _bulk}.
+     *
+     * @return las que ES rechazo por item (el resto quedo aplicado)
+     * @throws IllegalStateException si el request entero falla (ES caido, timeout)
+     */
+    public List<Failure> writeAll(List<DocumentWrite> writes) {
+        if (writes.isEmpty()) return List.of();
+
+        BulkRequest.Builder bulk = new BulkRequest.Builder();
+        List<Integer> origin = new ArrayList<>(writes.size());
+        for (int n = 0; n < writes.size(); n++) {
+            DocumentWrite w = writes.get(n);
+            Document source = w.isDelete() ? null : ops.getElasticsearchConverter().mapObject(w.document());
+            List<String> targets = new ArrayList<>(List.of(w.alias()));
+            targets.addAll(indexManager.loadingIndices(w.alias()));
+            for (String target : targets) {
+                if (w.isDelete()) {
+                    bulk.operations(op -> op.delete(d -> d
+                            .index(target)
+                            .id(w.id())
+                            .version(w.version())
+                            .versionType(VersionType.ExternalGte)));
+                } else {
+                    bulk.operations(op -> op.index(i -> i
+                            .index(target)
+                            .id(w.id())
+                            .version(w.version())
+                            .versionType(VersionType.ExternalGte)
+                            .document(source)));
+                }
+                origin.add(n);
+            }
+        }
+
+        BulkResponse resp;
+        try {
+            resp = client.bulk(bulk.build());
+        } catch (IOException ex) {
+            throw new IllegalStateException("Fallo el _bulk de " + writes.size() + " documentos", ex);
+        }
+        if (!resp.errors()) return List.of();
+
+        Map<Integer, Failure> failures = new LinkedHashMap<>();
+        List<BulkResponseItem> items = resp.items();
+        for (int i = 0; i < items.size(); i++) {
+            BulkResponseItem item = items.get(i);
+            if (item.error() == null) continue;
+            if (item.status() == VERSION_CONFLICT) {
+                log.debug("Escritura stale ignorada {}/{} (ya hay una version mas nueva)",
+                        item.index(), item.id());
+                continue;
+            }
+            DocumentWrite w = writes.get(origin.get(i));
+            String reason = item.index() + " " + item.error().type() + ": " + item.error().reason();
+            failures.putIfAbsent(origin.get(i), new Failure(w, reason));
+        }
+        return new ArrayList<>(failures.values());
+    }
+
+    public record Failure(DocumentWrite write, String reason) {}
+}
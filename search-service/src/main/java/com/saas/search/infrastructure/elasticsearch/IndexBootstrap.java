@@ -19,6 +19,7 @@ import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Crea indices versionados y aliases al arranque, si no existen.
@@ -28,9 +29,13 @@ import java.util.List;
  *   Indice fisico: {@code users_v1}, {@code roles_v1}.
  *   Alias logico: {@code users}, {@code roles}.
  *   El codigo solo conoce los aliases.
- *   Reindex futuro: crear {@code users_v2}, copiar, swap del alias, drop v1.
+ *   Reindex: {@link VersionedIndexManager} crea {@code users_v2} (marcado
+ *   {@code users_loading}: los eventos se escriben en ambos), carga, swap
+ *   del alias y drop de v1.
  *
- * Idempotente: corre en cada arranque, no rompe nada si ya existe.
+ * Idempotente: corre en cada arranque, no rompe nada si ya existe. Si el alias
+ * ya existe solo se sincroniza el mapping del indice al que apunta (que tras un
+ * reindex ya no es {@code _v1}); asi no se recrea un {@code _v1} huerfano.
  */
 @Slf4j
 @Component
@@ -60,8 +65,12 @@ public class IndexBootstrap {
         log.info("IndexBootstrap: verificando indices y aliases...");
         for (IndexSpec spec : SPECS){
             try {
+                if (aliasExists(spec.alias)) {
+                    ensureMapping(spec, spec.alias);
+                    continue;
+                }
                 createIfNotExist(spec);
-                ensureMapping(spec);
+                ensureMapping(spec, spec.indexName);
                 ensureAlias(spec);
 
             } catch (Exception ex) {
@@ -106,33 +115,30 @@ public class IndexBootstrap {
      * rechaza cambios incompatibles sobre los existentes (lo cual es el
      * comportamiento deseado: un cambio de tipo exige reindex explicito).</p>
      */
-    private void ensureMapping(IndexSpec spec) throws Exception {
+    private void ensureMapping(IndexSpec spec, String target) throws Exception {
         try (InputStream is = new ClassPathResource(spec.mappingPath).getInputStream()) {
             JsonNode mappings = MAPPER.readTree(is).get("mappings");
             if (mappings == null) return;
 
             try (Reader reader = new StringReader(MAPPER.writeValueAsString(mappings))) {
-                client.indices().putMapping(b -> b.index(spec.indexName).withJson(reader));
+                client.indices().putMapping(b -> b.index(target).withJson(reader));
             }
-            log.debug("Mapping de {} sincronizado desde {}", spec.indexName, spec.mappingPath);
+            log.debug("Mapping de {} sincronizado desde {}", target, spec.mappingPath);
         } catch (Exception ex) {
             // No abortamos el arranque: el indice sigue sirviendo con su mapping
             // previo. Se registra fuerte porque un campo nuevo no indexado deja
             // consultas silenciosamente vacias.
-            log.error("No se pudo actualizar el mapping de {}: {}", spec.indexName, ex.getMessage());
+            log.error("No se pudo actualizar el mapping de {}: {}", target, ex.getMessage());
         }
     }
 
-    private void ensureAlias(IndexSpec spec) throws Exception {
-        boolean aliasExist = client.indices()
-                .existsAlias(b -> b.name(spec.alias))
+    private boolean aliasExists(String alias) throws Exception {
+        return client.indices()
+                .existsAlias(b -> b.name(alias))
                 .value();
+    }
 
-        if (aliasExist) {
-            log.debug("Alias {} ya existe, skip", spec.alias);
-            return;
-        }
-
+    private void ensureAlias(IndexSpec spec) throws Exception {
         client.indices().updateAliases(UpdateAliasesRequest.of( b -> b
                                                                             .actions(Action.of(a -> a.add(add -> add
                                                                                                                                 .index(spec.indexName)
@@ -141,7 +147,12 @@ public class IndexBootstrap {
 
     }
 
-    private record IndexSpec(String alias, String indexName, String mappingPath){};
+    /** Spec declarada para un alias (mapping y settings de referencia para el reindex). */
+    static Optional<IndexSpec> specFor(String alias) {
+        return SPECS.stream().filter(s -> s.alias.equals(alias)).findFirst();
+    }
+
+    record IndexSpec(String alias, String indexName, String mappingPath){};
 
 
 }
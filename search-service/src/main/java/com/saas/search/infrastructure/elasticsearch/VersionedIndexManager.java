@@ -0,0 +1,214 @@
+package com.saas.search.infrastructure.elasticsearch;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.CreateIndexRequest;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.saas.search.infrastructure.elasticsearch.IndexBootstrap.IndexSpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Operaciones de indice fisico para el reindex "alias-versioned" descrito en
+ * {@link IndexBootstrap}:
+ *
+ *   {@link #createLoadIndex}: crea {@code <alias>_v<n+1>} con el mapping del
+ *   recurso y settings de carga (sin refresh, 0 replicas) y lo marca con el
+ *   alias {@code <alias>_loading}.
+ *   {@link #loadingIndices}: indices en carga de un alias. Los consumers de
+ *   TODAS las instancias escriben tambien ahi (ver {@link BulkDocumentWriter}),
+ *   asi el indice nuevo recibe upserts y borrados de la ventana de carga.
+ *   {@link #finishLoad}: restaura refresh/replicas del recurso y hace refresh.
+ *   {@link #swapAlias}: mueve el alias y quita la marca en UNA sola llamada a
+ *   {@code _aliases} (atomico: ninguna lectura ve el alias vacio).
+ *
+ * Durante la carga el indice nuevo tiene {@code index.gc_deletes} alto: el
+ * borrado versionado de un evento deja un tombstone que rechaza (409) la
+ * escritura posterior del loader con la foto vieja de la BD. Sin eso ES lo
+ * olvida a los 60s y el documento borrado resucita.
+ *
+ * No decide nada: el orden y el manejo de fallos lo lleva {@code ReindexService}.
+ */
+@Slf4j
+@Component
+public class VersionedIndexManager {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String LOAD_REFRESH_INTERVAL = "-1";
+    private static final String LOAD_REPLICAS = "0";
+    private static final String LOADING_SUFFIX = "_loading";
+    private static final String DEFAULT_GC_DELETES = "60s";
+
+    private final ElasticsearchClient client;
+    private final String tombstoneRetention;
+
+    /** alias -> indices en carga. Lo consulta cada escritura: cache corta, no un GET por bulk. */
+    private final LoadingCache<String, List<String>> loading;
+
+    public VersionedIndexManager(ElasticsearchClient client,
+                                 @Value("${saas.search.reindex.loading-refresh-ms:1000}") long loadingRefreshMs,
+                                 @Value("${saas.search.reindex.tombstone-retention:12h}") String tombstoneRetention) {
+        this.client = client;
+        this.tombstoneRetention = tombstoneRetention;
+        this.loading = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(loadingRefreshMs))
+                .build(this::fetchLoading);
+    }
+
+    /** Indices fisicos a los que apunta hoy el alias (normalmente uno). */
+    public Set<String> currentIndices(String alias) throws IOException {
+        boolean exists = client.indices().existsAlias(b -> b.name(alias)).value();
+        if (!exists) return Set.of();
+        return client.indices().getAlias(b -> b.name(alias)).result().keySet();
+    }
+
+    /**
+     * Crea la siguiente version fisica del alias ({@code _v<n+1>} sobre el mayor
+     * existente, aliasado o no) y la marca {@code <alias>_loading}.
+     *
+     * <p>Un reindex por alias en todo el cluster: la marca es el lock. Si ya
+     * apunta a algun indice (otra instancia cargando, o un reindex caido que
+     * dejo su indice) no se crea nada. Dos instancias que pasan el chequeo a la
+     * vez se detectan al marcar: quien ve otro indice bajo la marca borra el suyo
+     * y aborta (en el peor caso abortan las dos; nunca cargan dos en paralelo).
+     *
+     * @throws IllegalStateException si hay otro reindex de {@code alias} en curso
+     */
+    public String createLoadIndex(String alias) throws IOException {
+        IndexSpec spec = spec(alias);
+        String marker = alias + LOADING_SUFFIX;
+        Set<String> busy = currentIndices(marker);
+        if (!busy.isEmpty()) {
+            throw new IllegalStateException("Reindex de " + alias + " ya en curso en " + busy
+                    + " (si quedo de un reindex caido, borrar el indice a mano)");
+        }
+        String name = alias + "_v" + (highestVersion(alias) + 1);
+
+        try (InputStream is = new ClassPathResource(spec.mappingPath()).getInputStream()) {
+            client.indices().create(CreateIndexRequest.of(b -> b.index(name).withJson(is)));
+        }
+        client.indices().putSettings(b -> b
+                .index(name)
+                .settings(s -> s
+                        .refreshInterval(t -> t.time(LOAD_REFRESH_INTERVAL))
+                        .numberOfReplicas(LOAD_REPLICAS)
+                        .gcDeletes(t -> t.time(tombstoneRetention))));
+        client.indices().putAlias(b -> b.index(name).name(marker));
+        loading.invalidate(alias);
+
+        Set<String> others = new HashSet<>(currentIndices(marker));
+        others.remove(name);
+        if (!others.isEmpty()) {
+            delete(name);
+            throw new IllegalStateException("Reindex de " + alias + " en paralelo con " + others + ", abortado");
+        }
+
+        log.info("Reindex: indice {} creado para alias {} (refresh=-1, replicas=0, gc_deletes={})",
+                name, alias, tombstoneRetention);
+        return name;
+    }
+
+    /**
+     * Indices marcados {@code <alias>_loading}, vacio fuera de un reindex. Cache
+     * de {@code saas.search.reindex.loading-refresh-ms}: una instancia ve la
+     * marca, como mucho, ese tiempo despues de creada.
+     */
+    public List<String> loadingIndices(String alias) {
+        return loading.get(alias);
+    }
+
+    /** Devuelve refresh_interval y replicas a los del recurso y deja visible lo cargado. */
+    public void finishLoad(String alias, String index) throws IOException {
+        JsonNode settings = settingsOf(spec(alias));
+        String refresh = settings.path("refresh_interval").asText("1s");
+        String replicas = settings.path("number_of_replicas").asText("1");
+
+        client.indices().putSettings(b -> b
+                .index(index)
+                .settings(s -> s
+                        .refreshInterval(t -> t.time(refresh))
+                        .numberOfReplicas(replicas)
+                        .gcDeletes(t -> t.time(DEFAULT_GC_DELETES))));
+        client.indices().refresh(b -> b.index(index));
+        log.info("Reindex: indice {} listo (refresh={}, replicas={})", index, refresh, replicas);
+    }
+
+    /**
+     * Quita el alias de sus indices actuales, lo pone en {@code index} y le
+     * retira la marca {@code <alias>_loading}, todo en un solo request. Solo a
+     * {@code index}: la marca de otro indice no es de este reindex.
+     *
+     * @return indices que dejaron de estar aliasados (a borrar por el llamador)
+     */
+    public List<String> swapAlias(String alias, String index) throws IOException {
+        List<String> previous = new ArrayList<>(currentIndices(alias));
+        previous.remove(index);
+
+        List<Action> actions = new ArrayList<>();
+        for (String old : previous) {
+            actions.add(Action.of(a -> a.remove(r -> r.index(old).alias(alias))));
+        }
+        actions.add(Action.of(a -> a.add(add -> add.index(index).alias(alias))));
+        actions.add(Action.of(a -> a.remove(r -> r.index(index).alias(alias + LOADING_SUFFIX))));
+
+        client.indices().updateAliases(b -> b.actions(actions));
+        loading.invalidate(alias);
+        log.info("Reindex: alias {} -> {} (antes {})", alias, index, previous);
+        return previous;
+    }
+
+    public void delete(String index) {
+        try {
+            client.indices().delete(b -> b.index(index));
+            log.info("Reindex: indice {} eliminado", index);
+        } catch (Exception ex) {
+            log.warn("Reindex: no se pudo eliminar {}: {} (borrar a mano)", index, ex.getMessage());
+        }
+    }
+
+    private List<String> fetchLoading(String alias) {
+        if (IndexBootstrap.specFor(alias).isEmpty()) return List.of();
+        try {
+            return List.copyOf(currentIndices(alias + LOADING_SUFFIX));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo leer " + alias + LOADING_SUFFIX, ex);
+        }
+    }
+
+    private int highestVersion(String alias) throws IOException {
+        Pattern versioned = Pattern.compile(Pattern.quote(alias) + "_v(\\d+)");
+        int max = 0;
+        for (String name : client.indices().get(b -> b.index(alias + "_v*")).result().keySet()) {
+            Matcher m = versioned.matcher(name);
+            if (m.matches()) max = Math.max(max, Integer.parseInt(m.group(1)));
+        }
+        return max;
+    }
+
+    private static IndexSpec spec(String alias) {
+        return IndexBootstrap.specFor(alias)
+                .orElseThrow(() -> new IllegalArgumentException("Alias sin spec de indice: " + alias));
+    }
+
+    private static JsonNode settingsOf(IndexSpec spec) throws IOException {
+        try (InputStream is = new ClassPathResource(spec.mappingPath()).getInputStream()) {
+            return MAPPER.readTree(is).path("settings");
+        }
+    }
+}
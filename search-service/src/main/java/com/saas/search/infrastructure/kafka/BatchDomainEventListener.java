@@ -0,0 +1,247 @@
+package com.saas.search.infrastructure.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saas.common.events.EventEnvelope;
+import com.saas.common.events.EventLagMetrics;
+import com.saas.search.infrastructure.elasticsearch.BulkDocumentWriter;
+import com.saas.search.infrastructure.elasticsearch.BulkDocumentWriter.Failure;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Listener de {@code domain.events} en modo batch (default; el modo por
+ * registro es {@link DomainEventListener} con
+ * {@code saas.search.kafka.batch-listener=false}).
+ *
+ * Flujo por poll (hasta {@code max-poll-records}):
+ *
+ *   Deserializa; los corruptos se descartan con log (retry no ayuda).
+ *   Idempotencia: un solo {@code MGET} de los eventIds contra Redis.
+ *   Los eventos de un {@link BulkEventHandler} se proyectan a
+ *   {@link DocumentWrite} y se colapsan por alias+id quedando el de mayor
+ *   {@code docVersion}: 20 updates del mismo usuario son 1 escritura.
+ *   Todas las escrituras van en UN {@code _bulk}. Los handlers planos
+ *   (cascadas de location) se invocan uno a uno.
+ *   Lo que falla por item se reintenta solo (backoff fijo) sin frenar al
+ *   resto del batch; agotados los reintentos se loguea y se cuenta en
+ *   {@code search.events.failed}, igual que el {@code DefaultErrorHandler}
+ *   hace con un registro.
+ *   Marca en Redis solo los aplicados (pipeline) y confirma el offset UNA vez.
+ *
+ *
+ * Si falla algo del batch entero (Redis o ES caidos) la excepcion sube, no se
+ * confirma nada y el error handler del contenedor reentrega el poll completo.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "saas.search.kafka", name = "batch-listener", havingValue = "true", matchIfMissing = true)
+public class BatchDomainEventListener {
+
+    private final List<EventHandler> handlers;
+    private final ObjectMapper mapper;
+    private final ProcessedEventCache dedup;
+    private final EventLagMetrics lagMetrics;
+    private final BulkDocumentWriter writer;
+    private final int retryAttempts;
+    private final long retryBackoffMs;
+
+    private final DistributionSummary batchSize;
+    private final Counter collapsed;
+    private final Counter failed;
+
+    public BatchDomainEventListener(List<EventHandler> handlers,
+                                    ObjectMapper mapper,
+                                    ProcessedEventCache dedup,
+                                    EventLagMetrics lagMetrics,
+                                    BulkDocumentWriter writer,
+                                    MeterRegistry registry,
+                                    @Value("${saas.search.kafka.item-retry-attempts:3}") int retryAttempts,
+                                    @Value("${saas.search.kafka.item-retry-backoff-ms:2000}") long retryBackoffMs) {
+        this.handlers = handlers;
+        this.mapper = mapper;
+        this.dedup = dedup;
+        this.lagMetrics = lagMetrics;
+        this.writer = writer;
+        this.retryAttempts = retryAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.batchSize = DistributionSummary.builder("search.events.batch.size")
+                .description("Eventos por poll procesado en modo batch")
+                .register(registry);
+        this.collapsed = Counter.builder("search.events.batch.collapsed")
+                .description("Eventos absorbidos por otro mas nuevo del mismo documento")
+                .register(registry);
+        this.failed = Counter.builder("search.events.failed")
+                .description("Eventos descartados tras agotar los reintentos")
+                .register(registry);
+    }
+
+    @KafkaListener(
+            id = DomainEventListener.LISTENER_ID,
+            idIsGroup = false,
+            topics = "${saas.outbox.topic:domain.events}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void onBatch(List<ConsumerRecord<String, String>> records, Acknowledgment ack) {
+        batchSize.record(records.size());
+
+        Map<UUID, EventEnvelope> events = new LinkedHashMap<>();
+        for (ConsumerRecord<String, String> rec : records) {
+            try {
+                EventEnvelope envelope = mapper.readValue(rec.value(), EventEnvelope.class);
+                events.putIfAbsent(envelope.getEventId(), envelope);
+            } catch (Exception ex) {
+                log.error("Mensaje no deserializable - DESCARTADO. partition={} offset={} json='{}'",
+                        rec.partition(), rec.offset(), rec.value(), ex);
+            }
+        }
+        events.keySet().removeAll(dedup.findProcessed(events.keySet()));
+
+        Map<String, Pending> writes = new LinkedHashMap<>();
+        List<Direct> direct = new ArrayList<>();
+        Set<UUID> failedIds = new HashSet<>();
+        Set<UUID> dispatched = new HashSet<>();
+
+        for (EventEnvelope envelope : events.values()) {
+            for (EventHandler handler : handlers) {
+                if (!handler.supports(envelope.getType())) continue;
+                dispatched.add(envelope.getEventId());
+                if (handler instanceof BulkEventHandler bulkHandler) {
+                    project(bulkHandler, envelope, writes, failedIds);
+                } else {
+                    direct.add(new Direct(handler, envelope));
+                }
+            }
+        }
+
+        applyWrites(writes, failedIds);
+        applyDirect(direct, failedIds);
+
+        List<UUID> applied = new ArrayList<>();
+        for (EventEnvelope envelope : events.values()) {
+            if (failedIds.contains(envelope.getEventId())) continue;
+            applied.add(envelope.getEventId());
+            if (dispatched.contains(envelope.getEventId())) lagMetrics.recordApplied(envelope);
+        }
+        dedup.markAll(applied);
+        ack.acknowledge();
+
+        log.debug("Batch aplicado: registros={} eventos={} escrituras={} directos={} fallidos={}",
+                records.size(), events.size(), writes.size(), direct.size(), failedIds.size());
+    }
+
+    /** Proyecta y colapsa: por alias+id gana el {@code docVersion} mayor (a igualdad, el ultimo). */
+    private void project(BulkEventHandler handler, EventEnvelope envelope,
+                         Map<String, Pending> writes, Set<UUID> failedIds) {
+        DocumentWrite write;
+        try {
+            write = handler.project(envelope);
+        } catch (Exception ex) {
+            // Payload que no mapea al documento: reintentar no lo arregla.
+            failed.increment();
+            failedIds.add(envelope.getEventId());
+            log.error("Evento no proyectable - DESCARTADO. type={} id={}: {}",
+                    envelope.getType(), envelope.getAggregateId(), ex.getMessage());
+            return;
+        }
+
+        Pending current = writes.get(write.key());
+        if (current == null) {
+            writes.put(write.key(), new Pending(handler, write, new ArrayList<>(List.of(envelope))));
+            return;
+        }
+        collapsed.increment();
+        current.envelopes().add(envelope);
+        if (write.version() >= current.write().version()) {
+            writes.put(write.key(), new Pending(handler, write, current.envelopes()));
+        }
+    }
+
+    /** Un {@code _bulk} con todo; lo rechazado por item se reintenta solo. */
+    private void applyWrites(Map<String, Pending> writes, Set<UUID> failedIds) {
+        List<Pending> pending = new ArrayList<>(writes.values());
+        List<Failure> failures = List.of();
+
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            failures = writer.writeAll(pending.stream().map(Pending::write).toList());
+            Set<String> rejected = new HashSet<>();
+            failures.forEach(f -> rejected.add(f.write().key()));
+
+            List<Pending> retry = new ArrayList<>();
+            for (Pending p : pending) {
+                if (rejected.contains(p.write().key())) {
+                    retry.add(p);
+                } else {
+                    p.handler().afterWrite(p.write());
+                }
+            }
+            if (retry.isEmpty() || attempt >= retryAttempts) {
+                pending = retry;
+                break;
+            }
+            log.warn("Bulk: {} documentos rechazados, reintento {}/{}", retry.size(), attempt + 1, retryAttempts);
+            pending = retry;
+            backoff();
+        }
+
+        if (pending.isEmpty()) return;
+        for (Failure f : failures) {
+            log.error("Bulk: documento {} DESCARTADO tras {} reintentos: {}", f.write().key(), retryAttempts, f.reason());
+        }
+        for (Pending p : pending) {
+            p.envelopes().forEach(e -> failedIds.add(e.getEventId()));
+            failed.increment(p.envelopes().size());
+        }
+    }
+
+    private void applyDirect(List<Direct> direct, Set<UUID> failedIds) {
+        for (Direct d : direct) {
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    d.handler().handle(d.envelope());
+                    break;
+                } catch (Exception ex) {
+                    if (attempt >= retryAttempts) {
+                        failed.increment();
+                        failedIds.add(d.envelope().getEventId());
+                        log.error("Evento DESCARTADO tras {} reintentos type={} id={}: {}", retryAttempts,
+                                d.envelope().getType(), d.envelope().getAggregateId(), ex.getMessage(), ex);
+                        break;
+                    }
+                    log.warn("Error procesando evento type={} id={}, reintento {}/{}: {}", d.envelope().getType(),
+                            d.envelope().getAggregateId(), attempt + 1, retryAttempts, ex.getMessage());
+                    backoff();
+                }
+            }
+        }
+    }
+
+    private void backoff() {
+        try {
+            Thread.sleep(retryBackoffMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reintento interrumpido", ex);
+        }
+    }
+
+    /** Escritura ganadora de un documento y todos los eventos que absorbio. */
+    private record Pending(BulkEventHandler handler, DocumentWrite write, List<EventEnvelope> envelopes) {}
+
+    private record Direct(EventHandler handler, EventEnvelope envelope) {}
+}
@@ -0,0 +1,26 @@
+package com.saas.search.infrastructure.kafka;
+
+import com.saas.common.events.EventEnvelope;
+
+/**
+ * {@link EventHandler} cuyo efecto es escribir o borrar UN documento: en vez de
+ * ejecutar la escritura la describe con {@link #project}, y el listener batch
+ * la colapsa con las del resto del poll y la aplica en un solo {@code _bulk}.
+ *
+ * Los handlers con efectos extra (cascadas {@code update_by_query}, varios
+ * documentos por evento) siguen siendo {@link EventHandler} planos y se
+ * invocan uno a uno con {@link #handle}.
+ */
+public interface BulkEventHandler extends EventHandler {
+
+    /**
+     * Traduce el evento a la escritura del documento, sin tocar ES.
+     *
+     * @throws RuntimeException si el payload no mapea al documento
+     */
+    DocumentWrite project(EventEnvelope envelope);
+
+    /** Hook tras aplicar la escritura en ES (p. ej. invalidar caches locales). */
+    default void afterWrite(DocumentWrite write) {
+    }
+}
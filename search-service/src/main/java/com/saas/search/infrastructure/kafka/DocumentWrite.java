@@ -0,0 +1,43 @@
+package com.saas.search.infrastructure.kafka;
+
+import com.saas.common.events.EventEnvelope;
+import com.saas.search.domain.document.BaseDocument;
+
+/**
+ * Escritura de UN documento derivada de un evento, todavia sin ejecutar.
+ * La produce un {@link BulkEventHandler} y la aplica el
+ * {@code BulkDocumentWriter}, sola o junto con el resto del batch en un
+ * {@code _bulk}.
+ *
+ * @param alias     alias destino en ES
+ * @param id        id del documento (= aggregateId)
+ * @param version   {@code docVersion} ({@code occurredAt} en ms): decide cual
+ *                  gana si el batch trae varios eventos del mismo agregado
+ * @param document  documento a indexar; {@code null} = borrado
+ * @param envelope  evento de origen (hooks, metricas, logs)
+ */
+public record DocumentWrite(
+        String alias,
+        String id,
+        long version,
+        BaseDocument document,
+        EventEnvelope envelope) {
+
+    public static DocumentWrite index(String alias, BaseDocument document, EventEnvelope envelope) {
+        return new DocumentWrite(alias, document.getId(), document.getDocVersion(), document, envelope);
+    }
+
+    public static DocumentWrite delete(String alias, EventEnvelope envelope) {
+        return new DocumentWrite(alias, envelope.getAggregateId().toString(),
+                envelope.getOccurredAt().toEpochMilli(), null, envelope);
+    }
+
+    public boolean isDelete() {
+        return document == null;
+    }
+
+    /** Clave de colapso: un documento por alias+id dentro del batch. */
+    public String key() {
+        return alias + "/" + id;
+    }
+}
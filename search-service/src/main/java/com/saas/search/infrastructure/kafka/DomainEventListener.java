@@ -2,8 +2,10 @@ package com.saas.search.infrastructure.kafka;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.saas.common.events.EventEnvelope;
+import com.saas.common.events.EventLagMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
@@ -26,17 +28,30 @@ import java.util.List;
  *
  * Si algo lanza excepcion, el offset NO se confirma y el ErrorHandler
  * (con backoff de 2s, 3 retries) reentrega.
+ *
+ * Solo activo con {@code saas.search.kafka.batch-listener=false}; el modo por
+ * defecto es {@link BatchDomainEventListener} (un {@code _bulk} por poll).
  */
 @Slf4j
 @Component
+@ConditionalOnProperty(prefix = "saas.search.kafka", name = "batch-listener", havingValue = "false")
 @RequiredArgsConstructor
 public class DomainEventListener {
 
+    /**
+     * Id del contenedor, compartido con {@link BatchDomainEventListener} (solo
+     * uno de los dos existe).
+     */
+    public static final String LISTENER_ID = "search-domain-events";
+
     private final List<EventHandler> handlers;
     private final ObjectMapper mapper;
     private final ProcessedEventCache dedup;
+    private final EventLagMetrics lagMetrics;
 
     @KafkaListener(
+            id = LISTENER_ID,
+            idIsGroup = false,
             topics = "${saas.outbox.topic:domain.events}",
             groupId = "${spring.kafka.consumer.group-id}",
             containerFactory = "kafkaListenerContainerFactory")
@@ -74,6 +89,8 @@ public class DomainEventListener {
             if (dispatched == 0) {
                 log.debug("Sin handler para type={} (ignorado, no es un error)",
                         envelope.getType());
+            } else {
+                lagMetrics.recordApplied(envelope);
             }
 
             ack.acknowledge();
@@ -78,4 +78,22 @@ public class KafkaConsumerConfig {
 
         return factory;
     }
+
+    /**
+     * Factory del {@code BatchDomainEventListener}: entrega el poll completo
+     * ({@code max-poll-records}) como lista y se confirma con un solo ack.
+     * Los fallos por item los reintenta el listener; aqui solo llegan los del
+     * batch entero (Redis/ES caidos), y el error handler reentrega el poll.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(2000L, 3L)));
+        return factory;
+    }
 }
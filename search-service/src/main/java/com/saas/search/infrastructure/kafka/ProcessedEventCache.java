@@ -2,10 +2,18 @@ package com.saas.search.infrastructure.kafka;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -46,4 +54,37 @@ public class ProcessedEventCache {
         }
         return isFirst;
     }
-}
\ No newline at end of file
+
+    /**
+     * Batch: cuales de estos eventIds ya fueron procesados. Un solo
+     * {@code MGET} en vez de un SETNX por registro.
+     */
+    public Set<UUID> findProcessed(Collection<UUID> eventIds) {
+        if (eventIds.isEmpty()) return Set.of();
+        List<UUID> ids = List.copyOf(eventIds);
+        List<String> values = redis.opsForValue().multiGet(ids.stream().map(id -> PREFIX + id).toList());
+        Set<UUID> processed = new HashSet<>();
+        for (int i = 0; values != null && i < ids.size(); i++) {
+            if (values.get(i) != null) processed.add(ids.get(i));
+        }
+        return processed;
+    }
+
+    /**
+     * Batch: marca como procesados los eventos YA aplicados, en un pipeline.
+     * Se llama despues de escribir en ES: un evento que fallo no queda marcado
+     * y su reentrega no se descarta como duplicado.
+     */
+    public void markAll(Collection<UUID> eventIds) {
+        if (eventIds.isEmpty()) return;
+        byte[] value = "1".getBytes(StandardCharsets.UTF_8);
+        Expiration ttl = Expiration.from(TTL);
+        redis.executePipelined((RedisCallback<Object>) conn -> {
+            for (UUID id : eventIds) {
+                conn.stringCommands().set((PREFIX + id).getBytes(StandardCharsets.UTF_8), value, ttl,
+                        RedisStringCommands.SetOption.upsert());
+            }
+            return null;
+        });
+    }
+}
@@ -4,12 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.saas.common.events.EventEnvelope;
 import com.saas.common.events.EventTypes;
 import com.saas.search.domain.document.EmployeeBalanceDocument;
+import com.saas.search.infrastructure.elasticsearch.BulkDocumentWriter;
 import com.saas.search.infrastructure.elasticsearch.IndexNames;
-import com.saas.search.infrastructure.kafka.EventHandler;
+import com.saas.search.infrastructure.kafka.BulkEventHandler;
+import com.saas.search.infrastructure.kafka.DocumentWrite;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
-import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
@@ -21,14 +21,14 @@ import java.util.Set;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class EmployeeBalanceEventHandler implements EventHandler {
+public class EmployeeBalanceEventHandler implements BulkEventHandler {
 
     private static final Set<String> SUPPORTED = Set.of(
             EventTypes.FINANCE_BALANCE_UPDATED,
             EventTypes.FINANCE_BALANCE_DELETED
     );
 
-    private final ElasticsearchOperations ops;
+    private final BulkDocumentWriter writer;
     private final ObjectMapper mapper;
     private final IndexNames indexNames;
 
@@ -39,11 +39,13 @@ public class EmployeeBalanceEventHandler implements EventHandler {
 
     @Override
     public void handle(EventEnvelope envelope) {
-        IndexCoordinates index = IndexCoordinates.of(indexNames.employeeBalances());
+        writer.write(project(envelope));
+    }
 
+    @Override
+    public DocumentWrite project(EventEnvelope envelope) {
         if (EventTypes.FINANCE_BALANCE_DELETED.equals(envelope.getType())) {
-            ops.delete(envelope.getAggregateId().toString(), index);
-            return;
+            return DocumentWrite.delete(indexNames.employeeBalances(), envelope);
         }
 
         try {
@@ -53,7 +55,7 @@ public class EmployeeBalanceEventHandler implements EventHandler {
             doc.setUpdatedAt(envelope.getOccurredAt());
             if (doc.getCreatedAt() == null) doc.setCreatedAt(envelope.getOccurredAt());
             doc.setDocVersion(envelope.getOccurredAt().toEpochMilli());
-            ops.save(doc, index);
+            return DocumentWrite.index(indexNames.employeeBalances(), doc, envelope);
         } catch (Exception ex) {
             log.error("EmployeeBalanceEventHandler error id={}: {}", envelope.getAggregateId(), ex.getMessage(), ex);
             throw new RuntimeException(ex);
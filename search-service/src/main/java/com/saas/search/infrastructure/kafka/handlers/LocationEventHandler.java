@@ -7,14 +7,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.saas.common.events.EventEnvelope;
 import com.saas.common.events.EventTypes;
 import com.saas.search.domain.document.LocationDocument;
+import com.saas.search.infrastructure.elasticsearch.BulkDocumentWriter;
 import com.saas.search.infrastructure.elasticsearch.IndexNames;
+import com.saas.search.infrastructure.elasticsearch.VersionedIndexManager;
+import com.saas.search.infrastructure.kafka.DocumentWrite;
 import com.saas.search.infrastructure.kafka.EventHandler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -26,6 +30,10 @@ import java.util.Set;
  *   <li>updated: upsert + (si es padre) cascade update_by_query a todos los hijos.</li>
  *   <li>deleted: delete documento + (si es padre) delete_by_query hijos.</li>
  * </ul>
+ *
+ * <p>Upserts y deletes del propio documento pasan por el {@link BulkDocumentWriter}
+ * (versionados por {@code docVersion}, replicados al indice en carga durante un
+ * reindex), igual que los handlers bulk.</p>
  */
 @Slf4j
 @Component
@@ -49,7 +57,8 @@ public class LocationEventHandler implements EventHandler {
             EventTypes.LOCATION_NEIGHBORHOOD_DELETED
     );
 
-    private final ElasticsearchOperations ops;
+    private final BulkDocumentWriter writer;
+    private final VersionedIndexManager indexManager;
     private final ElasticsearchClient esClient;
     private final ObjectMapper mapper;
     private final IndexNames indexNames;
@@ -81,7 +90,7 @@ public class LocationEventHandler implements EventHandler {
 
                 case EventTypes.LOCATION_NEIGHBORHOOD_CREATED -> upsertNeighborhood(payload, envelope, index, true);
                 case EventTypes.LOCATION_NEIGHBORHOOD_UPDATED -> upsertNeighborhood(payload, envelope, index, false);
-                case EventTypes.LOCATION_NEIGHBORHOOD_DELETED -> deleteById(envelope.getAggregateId().toString(), index);
+                case EventTypes.LOCATION_NEIGHBORHOOD_DELETED -> deleteById(envelope, index);
 
                 default -> log.warn("LocationEventHandler: tipo no soportado {}", type);
             }
@@ -111,7 +120,7 @@ public class LocationEventHandler implements EventHandler {
         doc.setSearchText(name);
         doc.setFullPath(name);
 
-        ops.save(doc, index);
+        writer.write(DocumentWrite.index(index.getIndexName(), doc, env));
     }
 
     private void upsertDepartment(JsonNode p, EventEnvelope env, IndexCoordinates index, boolean isCreate) {
@@ -134,7 +143,7 @@ public class LocationEventHandler implements EventHandler {
         doc.setSearchText(join(text(p, "name"), text(p, "countryName")));
         doc.setFullPath(join(text(p, "countryName"), text(p, "name")));
 
-        ops.save(doc, index);
+        writer.write(DocumentWrite.index(index.getIndexName(), doc, env));
     }
 
     private void upsertMunicipality(JsonNode p, EventEnvelope env, IndexCoordinates index, boolean isCreate) {
@@ -160,7 +169,7 @@ public class LocationEventHandler implements EventHandler {
         doc.setSearchText(join(text(p, "name"), text(p, "departmentName"), text(p, "countryName")));
         doc.setFullPath(join(text(p, "countryName"), text(p, "departmentName"), text(p, "name")));
 
-        ops.save(doc, index);
+        writer.write(DocumentWrite.index(index.getIndexName(), doc, env));
     }
 
     private void upsertNeighborhood(JsonNode p, EventEnvelope env, IndexCoordinates index, boolean isCreate) {
@@ -194,7 +203,7 @@ public class LocationEventHandler implements EventHandler {
         doc.setFullPath(join(text(p, "countryName"), text(p, "departmentName"),
                 text(p, "municipalityName"), text(p, "name")));
 
-        ops.save(doc, index);
+        writer.write(DocumentWrite.index(index.getIndexName(), doc, env));
     }
 
     // ==================== CASCADE (update parent fields in children) ====================
@@ -207,7 +216,7 @@ public class LocationEventHandler implements EventHandler {
         Query q = Query.of(qb -> qb.term(t -> t.field("countryId").value(countryId)));
         String script = "ctx._source.countryCode = params.code; ctx._source.countryName = params.name; ctx._source.searchText = ctx._source.searchText; ctx._source.fullPath = ctx._source.fullPath;";
         esClient.updateByQuery(u -> u
-                .index(indexNames.locations())
+                .index(cascadeTargets())
                 .query(q)
                 .conflicts(co.elastic.clients.elasticsearch._types.Conflicts.Proceed)
                 .script(s -> s
@@ -229,7 +238,7 @@ public class LocationEventHandler implements EventHandler {
         Query q = Query.of(qb -> qb.term(t -> t.field("departmentId").value(deptId)));
         String script = "ctx._source.departmentCode = params.code; ctx._source.departmentName = params.name;";
         esClient.updateByQuery(u -> u
-                .index(indexNames.locations())
+                .index(cascadeTargets())
                 .query(q)
                 .conflicts(co.elastic.clients.elasticsearch._types.Conflicts.Proceed)
                 .script(s -> s
@@ -251,7 +260,7 @@ public class LocationEventHandler implements EventHandler {
         Query q = Query.of(qb -> qb.term(t -> t.field("municipalityId").value(muniId)));
         String script = "ctx._source.municipalityCode = params.code; ctx._source.municipalityName = params.name;";
         esClient.updateByQuery(u -> u
-                .index(indexNames.locations())
+                .index(cascadeTargets())
                 .query(q)
                 .conflicts(co.elastic.clients.elasticsearch._types.Conflicts.Proceed)
                 .script(s -> s
@@ -268,37 +277,44 @@ public class LocationEventHandler implements EventHandler {
     // ==================== DELETES (con cascade) ====================
 
     private void deleteCountry(JsonNode p, EventEnvelope env, IndexCoordinates index) throws Exception {
-        deleteById(env.getAggregateId().toString(), index);
+        deleteById(env, index);
         String countryId = env.getAggregateId().toString();
         esClient.deleteByQuery(d -> d
-                .index(indexNames.locations())
+                .index(cascadeTargets())
                 .query(q -> q.term(t -> t.field("countryId").value(countryId)))
                 .refresh(true)
         );
     }
 
     private void deleteDepartment(JsonNode p, EventEnvelope env, IndexCoordinates index) throws Exception {
-        deleteById(env.getAggregateId().toString(), index);
+        deleteById(env, index);
         String deptId = env.getAggregateId().toString();
         esClient.deleteByQuery(d -> d
-                .index(indexNames.locations())
+                .index(cascadeTargets())
                 .query(q -> q.term(t -> t.field("departmentId").value(deptId)))
                 .refresh(true)
         );
     }
 
     private void deleteMunicipality(JsonNode p, EventEnvelope env, IndexCoordinates index) throws Exception {
-        deleteById(env.getAggregateId().toString(), index);
+        deleteById(env, index);
         String muniId = env.getAggregateId().toString();
         esClient.deleteByQuery(d -> d
-                .index(indexNames.locations())
+                .index(cascadeTargets())
                 .query(q -> q.term(t -> t.field("municipalityId").value(muniId)))
                 .refresh(true)
         );
     }
 
-    private void deleteById(String id, IndexCoordinates index) {
-        ops.delete(id, index);
+    private void deleteById(EventEnvelope env, IndexCoordinates index) {
+        writer.write(DocumentWrite.delete(index.getIndexName(), env));
+    }
+
+    /** Las cascadas van al alias y, si hay un reindex en curso, tambien al indice en carga. */
+    private List<String> cascadeTargets() {
+        List<String> targets = new ArrayList<>(List.of(indexNames.locations()));
+        targets.addAll(indexManager.loadingIndices(indexNames.locations()));
+        return targets;
     }
 
     // ==================== HELPERS ====================
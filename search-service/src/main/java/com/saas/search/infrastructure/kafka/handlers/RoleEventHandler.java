@@ -4,12 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.saas.common.events.EventEnvelope;
 import com.saas.common.events.EventTypes;
 import com.saas.search.domain.document.RoleDocument;
+import com.saas.search.infrastructure.elasticsearch.BulkDocumentWriter;
 import com.saas.search.infrastructure.elasticsearch.IndexNames;
-import com.saas.search.infrastructure.kafka.EventHandler;
+import com.saas.search.infrastructure.kafka.BulkEventHandler;
+import com.saas.search.infrastructure.kafka.DocumentWrite;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
-import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
@@ -17,7 +17,7 @@ import java.util.Set;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class RoleEventHandler implements EventHandler {
+public class RoleEventHandler implements BulkEventHandler {
 
     private static final Set<String> SUPPORTED = Set.of(
             EventTypes.ROLE_CREATED,
@@ -25,7 +25,7 @@ public class RoleEventHandler implements EventHandler {
             EventTypes.ROLE_DELETED
     );
 
-    private final ElasticsearchOperations ops;
+    private final BulkDocumentWriter writer;
     private final ObjectMapper mapper;
     private final IndexNames indexNames;
 
@@ -36,12 +36,14 @@ public class RoleEventHandler implements EventHandler {
 
     @Override
     public void handle(EventEnvelope envelope) {
-        IndexCoordinates index = IndexCoordinates.of(indexNames.roles());
+        writer.write(project(envelope));
+        log.info("RoleDocument aplicado: id={} type={}", envelope.getAggregateId(), envelope.getType());
+    }
 
+    @Override
+    public DocumentWrite project(EventEnvelope envelope) {
         if (EventTypes.ROLE_DELETED.equals(envelope.getType())) {
-            String id = envelope.getAggregateId().toString();
-            ops.delete(id, index);
-            return;
+            return DocumentWrite.delete(indexNames.roles(), envelope);
         }
 
         try {
@@ -54,13 +56,10 @@ public class RoleEventHandler implements EventHandler {
             if (EventTypes.ROLE_CREATED.equals(envelope.getType())) {
                 doc.setCreatedAt(envelope.getOccurredAt());
             }
-
-            ops.save(doc, index);
-            log.info("RoleDocument indexado: id={} type={}",
-                    envelope.getAggregateId(), envelope.getType());
+            return DocumentWrite.index(indexNames.roles(), doc, envelope);
 
         } catch (Exception ex) {
-            log.error("Error indexando RoleDocument id={} type={}: {}",
+            log.error("Error mapeando RoleDocument id={} type={}: {}",
                     envelope.getAggregateId(), envelope.getType(), ex.getMessage(), ex);
             throw new RuntimeException(ex);
         }
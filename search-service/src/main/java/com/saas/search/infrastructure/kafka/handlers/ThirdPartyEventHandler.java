@@ -3,13 +3,14 @@ package com.saas.search.infrastructure.kafka.handlers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.saas.common.events.EventEnvelope;
 import com.saas.common.events.EventTypes;
+import com.saas.search.application.service.search.ThirdPartySearchService;
 import com.saas.search.domain.document.ThirdPartyDocument;
+import com.saas.search.infrastructure.elasticsearch.BulkDocumentWriter;
 import com.saas.search.infrastructure.elasticsearch.IndexNames;
-import com.saas.search.infrastructure.kafka.EventHandler;
+import com.saas.search.infrastructure.kafka.BulkEventHandler;
+import com.saas.search.infrastructure.kafka.DocumentWrite;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
-import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
@@ -20,7 +21,7 @@ import java.util.Set;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class ThirdPartyEventHandler implements EventHandler {
+public class ThirdPartyEventHandler implements BulkEventHandler {
 
     private static final Set<String> SUPPORTED = Set.of(
             EventTypes.THIRDPARTY_CREATED,
@@ -28,9 +29,10 @@ public class ThirdPartyEventHandler implements EventHandler {
             EventTypes.THIRDPARTY_DELETED
     );
 
-    private final ElasticsearchOperations ops;
+    private final BulkDocumentWriter writer;
     private final ObjectMapper mapper;
     private final IndexNames indexNames;
+    private final ThirdPartySearchService thirdPartySearch;
 
     @Override
     public boolean supports(String eventType) {
@@ -39,11 +41,16 @@ public class ThirdPartyEventHandler implements EventHandler {
 
     @Override
     public void handle(EventEnvelope envelope) {
-        IndexCoordinates index = IndexCoordinates.of(indexNames.thirdParties());
+        DocumentWrite write = project(envelope);
+        writer.write(write);
+        afterWrite(write);
+        log.info("ThirdPartyDocument aplicado: id={} type={}", envelope.getAggregateId(), envelope.getType());
+    }
 
+    @Override
+    public DocumentWrite project(EventEnvelope envelope) {
         if (EventTypes.THIRDPARTY_DELETED.equals(envelope.getType())) {
-            ops.delete(envelope.getAggregateId().toString(), index);
-            return;
+            return DocumentWrite.delete(indexNames.thirdParties(), envelope);
         }
 
         try {
@@ -56,15 +63,18 @@ public class ThirdPartyEventHandler implements EventHandler {
             if (EventTypes.THIRDPARTY_CREATED.equals(envelope.getType())) {
                 doc.setCreatedAt(envelope.getOccurredAt());
             }
-
-            ops.save(doc, index);
-            log.info("ThirdPartyDocument indexado: id={} type={}",
-                    envelope.getAggregateId(), envelope.getType());
+            return DocumentWrite.index(indexNames.thirdParties(), doc, envelope);
 
         } catch (Exception ex) {
-            log.error("Error indexando ThirdPartyDocument id={} type={}: {}",
+            log.error("Error mapeando ThirdPartyDocument id={} type={}: {}",
                     envelope.getAggregateId(), envelope.getType(), ex.getMessage(), ex);
             throw new RuntimeException(ex);
         }
     }
+
+    /** La tarjeta cacheada (nombre + foto) queda vieja tras cualquier escritura. */
+    @Override
+    public void afterWrite(DocumentWrite write) {
+        thirdPartySearch.evictCard(write.id());
+    }
 }
@@ -4,12 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.saas.common.events.EventEnvelope;
 import com.saas.common.events.EventTypes;
 import com.saas.search.domain.document.UserDocument;
+import com.saas.search.infrastructure.elasticsearch.BulkDocumentWriter;
 import com.saas.search.infrastructure.elasticsearch.IndexNames;
-import com.saas.search.infrastructure.kafka.EventHandler;
+import com.saas.search.infrastructure.kafka.BulkEventHandler;
+import com.saas.search.infrastructure.kafka.DocumentWrite;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
-import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
@@ -20,7 +20,7 @@ import java.util.Set;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class UserEventHandler implements EventHandler {
+public class UserEventHandler implements BulkEventHandler {
 
     private static final Set<String> SUPPORTED = Set.of(
             EventTypes.USER_CREATED,
@@ -29,7 +29,7 @@ public class UserEventHandler implements EventHandler {
             EventTypes.USER_ROLES_CHANGED
     );
 
-    private final ElasticsearchOperations ops;
+    private final BulkDocumentWriter writer;
     private final ObjectMapper mapper;
     private final IndexNames indexNames;
 
@@ -40,14 +40,15 @@ public class UserEventHandler implements EventHandler {
 
     @Override
     public void handle(EventEnvelope envelope) {
-        IndexCoordinates index = IndexCoordinates.of(indexNames.users());
+        writer.write(project(envelope));
+        log.info("UserDocument aplicado: id={} type={}", envelope.getAggregateId(), envelope.getType());
+    }
 
+    @Override
+    public DocumentWrite project(EventEnvelope envelope) {
         // user.deleted: borrar del indice
         if (EventTypes.USER_DELETED.equals(envelope.getType())) {
-            String id = envelope.getAggregateId().toString();
-            ops.delete(id, index);
-            log.info("UserDocument eliminado: id={}", id);
-            return;
+            return DocumentWrite.delete(indexNames.users(), envelope);
         }
 
         // user.created / updated / roles.changed: upsert
@@ -64,16 +65,12 @@ public class UserEventHandler implements EventHandler {
             if (EventTypes.USER_CREATED.equals(envelope.getType())) {
                 doc.setCreatedAt(envelope.getOccurredAt());
             }
-
-            ops.save(doc, index);
-            log.info("UserDocument indexado: id={} type={}",
-                    envelope.getAggregateId(), envelope.getType());
+            return DocumentWrite.index(indexNames.users(), doc, envelope);
 
         } catch (Exception ex) {
-            log.error("Error indexando UserDocument id={} type={}: {}",
+            log.error("Error mapeando UserDocument id={} type={}: {}",
                     envelope.getAggregateId(), envelope.getType(), ex.getMessage(), ex);
             throw new RuntimeException(ex);
         }
-
     }
 }
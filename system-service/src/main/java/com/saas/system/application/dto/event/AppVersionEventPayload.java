@@ -0,0 +1,25 @@
+package com.saas.system.application.dto.event;
+
+import com.saas.system.domain.model.AppVersion;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class AppVersionEventPayload {
+    private UUID id;
+    private String version;
+    private Integer versionCode;
+    private Boolean isCurrent;
+
+    public static AppVersionEventPayload from(AppVersion v) {
+        return AppVersionEventPayload.builder()
+                .id(v.getId())
+                .version(v.getVersion())
+                .versionCode(v.getVersionCode())
+                .isCurrent(v.getIsCurrent())
+                .build();
+    }
+}
@@ -1,8 +1,11 @@
 package com.saas.system.application.service;
 
+import com.saas.common.events.EventTypes;
 import com.saas.common.exception.BusinessException;
+import com.saas.common.outbox.OutboxPublisher;
 import com.saas.common.exception.ResourceNotFoundException;
 import com.saas.common.service.GenericCrudService;
+import com.saas.system.application.dto.event.AppVersionEventPayload;
 import com.saas.system.domain.model.AppVersion;
 import com.saas.system.domain.model.Constant;
 import com.saas.system.domain.port.in.IAppVersionUseCase;
@@ -44,14 +47,17 @@ public class AppVersionService extends GenericCrudService<AppVersion, UUID> impl
 
     private final IAppVersionRepositoryPort repo;
     private final IConstantUseCase constantUseCase;
+    private final OutboxPublisher outbox;
     private final Path storageDir;
 
     public AppVersionService(IAppVersionRepositoryPort repo,
                              IConstantUseCase constantUseCase,
+                             OutboxPublisher outbox,
                              @Value("${app.apk.storage-dir:./storage/apk}") String storageDir) {
         super(repo);
         this.repo = repo;
         this.constantUseCase = constantUseCase;
+        this.outbox = outbox;
         this.storageDir = Path.of(storageDir).toAbsolutePath().normalize();
     }
 
@@ -66,6 +72,12 @@ public class AppVersionService extends GenericCrudService<AppVersion, UUID> impl
         if (incoming.getNotes() != null) existing.setNotes(incoming.getNotes());
     }
 
+    /** Las notas de la vigente salen en {@code /public/app-versions/latest}. */
+    @Override
+    protected void onAfterUpdate(AppVersion existing, AppVersion updated) {
+        if (Boolean.TRUE.equals(updated.getIsCurrent())) publishChanged(updated);
+    }
+
     @Override
     @Transactional
     public AppVersion upload(String version, Integer versionCode, String notes,
@@ -123,6 +135,7 @@ public class AppVersionService extends GenericCrudService<AppVersion, UUID> impl
         AppVersion published = repo.update(target);
 
         syncVerapp(published.getVersion());
+        publishChanged(published);
         log.info("Version del APK publicada: {} (code {})", published.getVersion(), published.getVersionCode());
         return published;
     }
@@ -164,6 +177,11 @@ public class AppVersionService extends GenericCrudService<AppVersion, UUID> impl
 
     // ---------------------------------------------------------------
 
+    private void publishChanged(AppVersion v) {
+        outbox.publish(EventTypes.APP_VERSION_CHANGED, null, "appversion", v.getId(),
+                AppVersionEventPayload.from(v));
+    }
+
     /** El contrato de exigencia del APK es la constante VERAPP: publicar la sincroniza. */
     private void syncVerapp(String version) {
         try {
@@ -0,0 +1,114 @@
+package com.saas.system.application.service;
+
+import com.saas.common.events.EventTypes;
+import com.saas.common.outbox.OutboxPublisher;
+import com.saas.common.security.PermissionMatrix;
+import com.saas.common.security.PermissionMatrixSnapshot;
+import com.saas.system.domain.model.Permission;
+import com.saas.system.domain.model.Role;
+import com.saas.system.domain.model.RolePermission;
+import com.saas.system.domain.port.out.IPermissionRepositoryPort;
+import com.saas.system.domain.port.out.IRolePermissionRepositoryPort;
+import com.saas.system.domain.port.out.IRoleRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Compila la tabla rol -> permisos a {@link PermissionMatrixSnapshot} y la
+ * publica por el outbox ({@code permission.matrix.changed}). Cada servicio la
+ * guarda en memoria ({@code PermissionMatrixHolder}) y resuelve permisos sin
+ * volver a llamar a system-service.
+ *
+ * Se publica dentro de la transaccion de cada cambio de roles/permisos y,
+ * ademas, periodicamente (red de seguridad, y siembra el topic la primera
+ * vez). El relay la enruta al topic compactado {@code permission.matrix}: los
+ * consumidores lo leen desde el inicio al arrancar, asi que una instancia
+ * nueva tiene la matriz vigente sin esperar al republish. El republish solo
+ * escribe en el outbox si la version difiere de la ultima que esta instancia
+ * confirmo (la primera vez siempre publica: siembra el topic).
+ *
+ * aggregateId fijo: misma key (compactacion conserva el ultimo) y misma
+ * particion (orden).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionMatrixPublisher {
+
+    static final UUID AGGREGATE_ID = UUID.nameUUIDFromBytes("permission-matrix".getBytes(StandardCharsets.UTF_8));
+
+    private final IRoleRepositoryPort roleRepo;
+    private final IPermissionRepositoryPort permRepo;
+    private final IRolePermissionRepositoryPort rolePermRepo;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate tx;
+
+    /** Version de la ultima matriz publicada por esta instancia (tras el commit). */
+    private volatile String lastPublished;
+
+    /** Debe llamarse dentro de la transaccion del cambio (outbox atomico). */
+    public void publish() {
+        send(compile());
+    }
+
+    @Scheduled(initialDelayString = "${saas.system.permission-matrix.initial-delay-ms:15000}",
+               fixedDelayString = "${saas.system.permission-matrix.republish-ms:300000}")
+    public void republish() {
+        try {
+            tx.executeWithoutResult(status -> {
+                PermissionMatrixSnapshot snapshot = compile();
+                if (snapshot.version().equals(lastPublished)) {
+                    log.debug("Matriz de permisos sin cambios (version={}), republish omitido", snapshot.version());
+                    return;
+                }
+                send(snapshot);
+            });
+        } catch (Exception ex) {
+            log.warn("Republish de la matriz de permisos fallo: {}", ex.getMessage());
+        }
+    }
+
+    private PermissionMatrixSnapshot compile() {
+        Map<UUID, String> roleCodes = roleRepo.findAll().stream()
+                .collect(Collectors.toMap(Role::getId, Role::getCode));
+        Map<UUID, String> permCodes = permRepo.findAll().stream()
+                .collect(Collectors.toMap(Permission::getId, Permission::getCode));
+
+        Map<String, Set<String>> byRole = new HashMap<>();
+        roleCodes.values().forEach(code -> byRole.put(code, new HashSet<>()));
+        for (RolePermission rp : rolePermRepo.findAll()) {
+            if (Boolean.FALSE.equals(rp.getEnabled())) continue;
+            String role = roleCodes.get(rp.getRoleId());
+            String perm = permCodes.get(rp.getPermissionId());
+            if (role != null && perm != null) byRole.get(role).add(perm);
+        }
+
+        return PermissionMatrix.compile(byRole);
+    }
+
+    private void send(PermissionMatrixSnapshot snapshot) {
+        outboxPublisher.publish(EventTypes.PERMISSION_MATRIX_CHANGED, null, "permissionmatrix", AGGREGATE_ID, snapshot);
+        log.debug("Matriz de permisos publicada: version={} roles={} permisos={}",
+                snapshot.version(), snapshot.roles().size(), snapshot.permissions().size());
+        // Solo cuenta como enviada si el outbox llega a commitear.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastPublished = snapshot.version();
+            }
+        });
+    }
+}
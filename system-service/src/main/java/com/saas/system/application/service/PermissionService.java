@@ -11,7 +11,12 @@ import java.util.UUID;
 @Service
 public class PermissionService extends CodeCrudService<Permission, UUID> implements IPermissionUseCase {
 
-    public PermissionService(IPermissionRepositoryPort repo) { super(repo); }
+    private final PermissionMatrixPublisher matrixPublisher;
+
+    public PermissionService(IPermissionRepositoryPort repo, PermissionMatrixPublisher matrixPublisher) {
+        super(repo);
+        this.matrixPublisher = matrixPublisher;
+    }
 
     @Override protected String getResourceName() { return "Permiso"; }
 
@@ -21,4 +26,11 @@ public class PermissionService extends CodeCrudService<Permission, UUID> impleme
         if (incoming.getName() != null)        existing.setName(incoming.getName());
         if (incoming.getDescription() != null) existing.setDescription(incoming.getDescription());
     }
+
+    // El codigo del permiso es parte de la matriz compilada: renombrar o borrar la cambia.
+    @Override
+    protected void onAfterUpdate(Permission existing, Permission updated) { matrixPublisher.publish(); }
+
+    @Override
+    protected void onAfterDelete(UUID id, Permission deletedSnapshot) { matrixPublisher.publish(); }
 }
@@ -23,6 +23,7 @@ public class RolePermissionService implements IRolePermissionUseCase {
     private final IRolePermissionRepositoryPort rolePermRepo;
     private final IRoleRepositoryPort roleRepo;
     private final IPermissionRepositoryPort permRepo;
+    private final PermissionMatrixPublisher matrixPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -60,6 +61,7 @@ public class RolePermissionService implements IRolePermissionUseCase {
             }
         }
         rolePermRepo.replacePermissionsForRole(roleId, permissionIds);
+        matrixPublisher.publish();
     }
 
     @Override
@@ -19,11 +19,13 @@ public class RoleService extends CodeCrudService<Role, UUID> implements IRoleUse
 
     private final IRoleRepositoryPort roleRepo;
     private final OutboxPublisher  outboxPublisher;
+    private final PermissionMatrixPublisher matrixPublisher;
 
-    public RoleService(IRoleRepositoryPort repo, OutboxPublisher publisher) {
+    public RoleService(IRoleRepositoryPort repo, OutboxPublisher publisher, PermissionMatrixPublisher matrixPublisher) {
         super(repo);
         this.roleRepo = repo;
         this.outboxPublisher = publisher;
+        this.matrixPublisher = matrixPublisher;
     }
 
     @Override protected String getResourceName() { return "Rol"; }
@@ -53,6 +55,7 @@ public class RoleService extends CodeCrudService<Role, UUID> implements IRoleUse
                 "role",
                 saved.getId(),
                 RoleEventPayload.from(saved));
+        matrixPublisher.publish();
     }
 
     @Override
@@ -63,6 +66,7 @@ public class RoleService extends CodeCrudService<Role, UUID> implements IRoleUse
                 "role",
                 updated.getId(),
                 RoleEventPayload.from(updated));
+        matrixPublisher.publish();
     }
 
     @Override
@@ -73,5 +77,6 @@ public class RoleService extends CodeCrudService<Role, UUID> implements IRoleUse
                 "role",
                 id,
                 RoleEventPayload.from(deletedSnapshot));
+        matrixPublisher.publish();
     }
 }
@@ -1,5 +1,6 @@
 package com.saas.system.application.service.location;
 
+import com.saas.common.dto.CursorPage;
 import com.saas.common.exception.ResourceNotFoundException;
 import com.saas.system.application.dto.event.location.LocationReindexPayload;
 import com.saas.system.domain.model.location.Country;
@@ -9,7 +10,6 @@ import com.saas.system.domain.model.location.Neighborhood;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -38,22 +38,22 @@ public class LocationReindexService {
     public long countMunicipalities()  { return municipalityService.count(); }
     public long countNeighborhoods()   { return neighborhoodService.count(); }
 
-    // ==================== PAGINADO ====================
+    // ==================== PAGINADO (keyset por Id) ====================
 
-    public List<LocationReindexPayload> findCountries(int page, int size) {
-        return countryService.findAllPaged(page, size).stream().map(this::toCountryPayload).toList();
+    public CursorPage<LocationReindexPayload> findCountries(String cursor, int size) {
+        return countryService.findAllAfter(cursor, size).map(this::toCountryPayload);
     }
 
-    public List<LocationReindexPayload> findDepartments(int page, int size) {
-        return departmentService.findAllPaged(page, size).stream().map(this::toDepartmentPayload).toList();
+    public CursorPage<LocationReindexPayload> findDepartments(String cursor, int size) {
+        return departmentService.findAllAfter(cursor, size).map(this::toDepartmentPayload);
     }
 
-    public List<LocationReindexPayload> findMunicipalities(int page, int size) {
-        return municipalityService.findAllPaged(page, size).stream().map(this::toMunicipalityPayload).toList();
+    public CursorPage<LocationReindexPayload> findMunicipalities(String cursor, int size) {
+        return municipalityService.findAllAfter(cursor, size).map(this::toMunicipalityPayload);
     }
 
-    public List<LocationReindexPayload> findNeighborhoods(int page, int size) {
-        return neighborhoodService.findAllPaged(page, size).stream().map(this::toNeighborhoodPayload).toList();
+    public CursorPage<LocationReindexPayload> findNeighborhoods(String cursor, int size) {
+        return neighborhoodService.findAllAfter(cursor, size).map(this::toNeighborhoodPayload);
     }
 
     // ==================== MAPPERS ====================
@@ -1,5 +1,6 @@
 package com.saas.system.infrastructure.controller;
 
+import com.saas.common.dto.CursorPage;
 import com.saas.system.application.dto.event.RoleEventPayload;
 import com.saas.system.application.dto.event.location.LocationReindexPayload;
 import com.saas.system.application.service.location.LocationReindexService;
@@ -11,7 +12,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -44,14 +44,16 @@ public class InternalController {
         return rolePermUseCase.getPermissionCodesByRoleId(roleId);
     }
 
+    /**
+     * Feeds de reindex: paginado keyset. Sin {@code cursor} empieza desde el
+     * inicio; se sigue con el {@code nextCursor} de la respuesta hasta null.
+     */
     @GetMapping("/roles/all")
-    public List<RoleEventPayload> listAllForReindex(
-            @RequestParam(defaultValue = "0") int page,
+    public CursorPage<RoleEventPayload> listAllForReindex(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "500") int size) {
-        log.info("Reindex fetch roles: page={} size={}", page, size);
-        return roleUseCase.findAllPaged(page, size).stream()
-                .map(RoleEventPayload::from)
-                .toList();
+        log.info("Reindex fetch roles: cursor={} size={}", cursor, size);
+        return roleUseCase.findAllAfter(cursor, size).map(RoleEventPayload::from);
     }
 
     @GetMapping("/roles/count")
@@ -64,11 +66,11 @@ public class InternalController {
     // un solo pass por documento sin re-resolver padres.
 
     @GetMapping("/locations/countries/all")
-    public List<LocationReindexPayload> listCountriesForReindex(
-            @RequestParam(defaultValue = "0") int page,
+    public CursorPage<LocationReindexPayload> listCountriesForReindex(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "500") int size) {
-        log.info("Reindex fetch locations/countries: page={} size={}", page, size);
-        return locationReindex.findCountries(page, size);
+        log.info("Reindex fetch locations/countries: cursor={} size={}", cursor, size);
+        return locationReindex.findCountries(cursor, size);
     }
 
     @GetMapping("/locations/countries/count")
@@ -77,11 +79,11 @@ public class InternalController {
     }
 
     @GetMapping("/locations/departments/all")
-    public List<LocationReindexPayload> listDepartmentsForReindex(
-            @RequestParam(defaultValue = "0") int page,
+    public CursorPage<LocationReindexPayload> listDepartmentsForReindex(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "500") int size) {
-        log.info("Reindex fetch locations/departments: page={} size={}", page, size);
-        return locationReindex.findDepartments(page, size);
+        log.info("Reindex fetch locations/departments: cursor={} size={}", cursor, size);
+        return locationReindex.findDepartments(cursor, size);
     }
 
     @GetMapping("/locations/departments/count")
@@ -90,11 +92,11 @@ public class InternalController {
     }
 
     @GetMapping("/locations/municipalities/all")
-    public List<LocationReindexPayload> listMunicipalitiesForReindex(
-            @RequestParam(defaultValue = "0") int page,
+    public CursorPage<LocationReindexPayload> listMunicipalitiesForReindex(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "500") int size) {
-        log.info("Reindex fetch locations/municipalities: page={} size={}", page, size);
-        return locationReindex.findMunicipalities(page, size);
+        log.info("Reindex fetch locations/municipalities: cursor={} size={}", cursor, size);
+        return locationReindex.findMunicipalities(cursor, size);
     }
 
     @GetMapping("/locations/municipalities/count")
@@ -103,11 +105,11 @@ public class InternalController {
     }
 
     @GetMapping("/locations/neighborhoods/all")
-    public List<LocationReindexPayload> listNeighborhoodsForReindex(
-            @RequestParam(defaultValue = "0") int page,
+    public CursorPage<LocationReindexPayload> listNeighborhoodsForReindex(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "500") int size) {
-        log.info("Reindex fetch locations/neighborhoods: page={} size={}", page, size);
-        return locationReindex.findNeighborhoods(page, size);
+        log.info("Reindex fetch locations/neighborhoods: cursor={} size={}", cursor, size);
+        return locationReindex.findNeighborhoods(cursor, size);
     }
 
     @GetMapping("/locations/neighborhoods/count")
@@ -1,5 +1,6 @@
 package com.saas.system.infrastructure.controller;
 
+import com.saas.common.controller.EdgeCacheTags;
 import com.saas.common.dto.ApiResponse;
 import com.saas.system.application.dto.response.LatestAppResponse;
 import com.saas.system.domain.model.AppVersion;
@@ -27,6 +28,9 @@ import java.util.UUID;
  *       y compartible: siempre sirve la vigente (el dueño comparte este).</li>
  *   <li>{@code GET /system/public/app-versions/{id}/download} — histórico.</li>
  * </ul>
+ *
+ * <p>{@code /latest} va etiquetada para la cache de borde del gateway
+ * ({@link EdgeCacheTags}); la invalida {@code app.version.changed}.</p>
  */
 @RestController
 @RequestMapping("/public/app-versions")
@@ -40,11 +44,15 @@ public class PublicAppController {
     @GetMapping("/latest")
     public ResponseEntity<ApiResponse<LatestAppResponse>> latest() {
         return useCase.findCurrent()
-                .map(v -> ResponseEntity.ok(ApiResponse.success(new LatestAppResponse(
-                        v.getVersion(), v.getVersionCode(), v.getNotes(),
-                        v.getChecksum(), v.getSizeBytes(),
-                        "/system/public/app-versions/latest/download"))))
-                .orElseGet(() -> ResponseEntity.ok(ApiResponse.error("No hay version publicada", 404)));
+                .map(v -> ResponseEntity.ok()
+                        .header(EdgeCacheTags.HEADER, EdgeCacheTags.APP_VERSION)
+                        .body(ApiResponse.success(new LatestAppResponse(
+                                v.getVersion(), v.getVersionCode(), v.getNotes(),
+                                v.getChecksum(), v.getSizeBytes(),
+                                "/system/public/app-versions/latest/download"))))
+                .orElseGet(() -> ResponseEntity.ok()
+                        .header(EdgeCacheTags.HEADER, EdgeCacheTags.APP_VERSION)
+                        .body(ApiResponse.error("No hay version publicada", 404)));
     }
 
     @GetMapping("/latest/download")
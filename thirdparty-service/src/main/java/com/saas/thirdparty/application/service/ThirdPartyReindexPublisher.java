@@ -1,5 +1,6 @@
 package com.saas.thirdparty.application.service;
 
+import com.saas.common.dto.CursorPage;
 import com.saas.common.events.EventTypes;
 import com.saas.common.outbox.OutboxPublisher;
 import com.saas.thirdparty.application.dto.event.ThirdPartyEventPayload;
@@ -10,7 +11,6 @@ import com.saas.thirdparty.domain.port.out.IThirdPartyRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -49,9 +49,9 @@ public class ThirdPartyReindexPublisher {
                 thirdPartyId, ThirdPartyEventPayload.from(snapshot));
     }
 
-    /** Construye los payloads COMPLETOS de una página (para reindex-from-source). */
-    public List<ThirdPartyEventPayload> buildPage(int page, int size) {
-        return thirdPartyRepo.findAllPaged(page, size).stream().map(this::buildPayload).toList();
+    /** Construye los payloads COMPLETOS de una página keyset (para reindex-from-source). */
+    public CursorPage<ThirdPartyEventPayload> buildPage(String cursor, int size) {
+        return thirdPartyRepo.findAllAfter(cursor, size).map(this::buildPayload);
     }
 
     /** Documento completo del tercero: base + sus contactos + sus direcciones. */
@@ -1,5 +1,6 @@
 package com.saas.thirdparty.infrastructure.controller;
 
+import com.saas.common.dto.CursorPage;
 import com.saas.thirdparty.application.dto.event.ThirdPartyEventPayload;
 import com.saas.thirdparty.application.dto.request.ThirdPartyRequest;
 import com.saas.thirdparty.application.dto.response.ThirdPartyResponse;
@@ -13,7 +14,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -34,11 +34,12 @@ public class InternalController {
     private final IThirdPartyUseCase useCase;
     private final ThirdPartyMapper mapper;
 
+    /** Feed de reindex keyset: seguir {@code nextCursor} hasta que venga null. */
     @GetMapping("/third-parties/all")
-    public List<ThirdPartyEventPayload> all(
-            @RequestParam(defaultValue = "0") int page,
+    public CursorPage<ThirdPartyEventPayload> all(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "500") int size) {
-        return reindexPublisher.buildPage(page, size);
+        return reindexPublisher.buildPage(cursor, size);
     }
 
     @GetMapping("/third-parties/count")